@@ -0,0 +1,77 @@
+package benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Scenario corpora of any size, built by repeating the shipped scenarios under fresh ids
+final class Corpus {
+    static final String SHIPPED = "Master Scenarios FINALLLL REAL.csv";
+    static final int SHIPPED_SCENARIOS = 9;
+
+    private Corpus() {
+    }
+
+    static Path write(int scenarioCount) throws IOException {
+        List<String> lines = shippedLines();
+        Path file = Files.createTempFile("scenarios-" + scenarioCount + "-", ".csv");
+        file.toFile().deleteOnExit();
+
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(lines.get(0));
+            out.write('\n');
+            int copies = (scenarioCount + SHIPPED_SCENARIOS - 1) / SHIPPED_SCENARIOS;
+            for (int copy = 0; copy < copies; copy++) {
+                for (int i = 1; i < lines.size(); i++) {
+                    String line = lines.get(i);
+                    int idEnd = line.indexOf(',');
+                    int scenarioNumber = copy * SHIPPED_SCENARIOS + scenarioIndex(line.substring(0, idEnd));
+                    if (scenarioNumber >= scenarioCount) {
+                        continue;
+                    }
+                    out.write(line, 0, idEnd);
+                    out.write(" #" + copy);
+                    out.write(line, idEnd, line.length() - idEnd);
+                    out.write('\n');
+                }
+            }
+        }
+        return file;
+    }
+
+    // "Easy 1" .. "Hard 3" map onto 0..8 so partial copies still spread over every difficulty
+    private static int scenarioIndex(String id) {
+        int space = id.lastIndexOf(' ');
+        int number = Integer.parseInt(id.substring(space + 1).trim()) - 1;
+        String difficulty = id.substring(0, space).trim();
+        int band = difficulty.endsWith("Easy") ? 0 : difficulty.equals("Medium") ? 1 : 2;
+        return number * 3 + band;
+    }
+
+    private static List<String> shippedLines() {
+        InputStream in = Corpus.class.getClassLoader().getResourceAsStream(SHIPPED);
+        if (in == null) {
+            throw new IllegalStateException("Scenario data not on the classpath: " + SHIPPED);
+        }
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    lines.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,138 @@
+package benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// The game lives in the default package, which named packages can't import, so its hot paths are reached reflectively.
+// Handles are resolved once and held in static finals so the JIT can inline through them.
+final class GameAccess {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    static final Class<?> READER = type("ScenarioDataReader");
+    static final Class<?> QUESTION = type("ScenarioDataReader$Question");
+    static final Class<?> ENGINE = type("GameEngine");
+    static final Class<?> SCENE = type("MainGameScene");
+    static final Class<?> ANIMATION = type("MainGameScene$BystanderAnimation");
+    static final Class<?> ANSWER_DISPLAY = type("MainGameScene$AnswerDisplay");
+
+    static final MethodHandle NEW_READER = handle(constructor(READER, URL.class));
+    static final MethodHandle GET_RANDOM_SCENARIO = handle(method(READER, "getRandomScenario", String.class));
+    static final MethodHandle NEW_ENGINE = handle(constructor(ENGINE, READER, List.class, Random.class));
+    static final MethodHandle NEW_GAME = handle(method(ENGINE, "newGame", String.class, int.class));
+    static final MethodHandle ASK_QUESTION = handle(method(ENGINE, "askQuestion", int.class));
+    static final MethodHandle ANSWERS_HEARD = handle(method(ENGINE, "answersHeard"));
+    static final MethodHandle NEXT_ROUND = handle(method(ENGINE, "nextRound"));
+    static final MethodHandle ACCUSE = handle(method(ENGINE, "accuse", String.class));
+    static final MethodHandle GET_SUSPECTS = handle(method(ENGINE, "getSuspects"));
+    static final MethodHandle GET_IMPOSTER = handle(method(ENGINE, "getImposter"));
+    static final MethodHandle GET_ROUND_QUESTIONS = handle(method(ENGINE, "getRoundQuestions"));
+    static final MethodHandle FIND_ANSWER = handle(method(ENGINE, "findAnswer", QUESTION, String.class));
+    static final List<String> CHARACTERS = List.of("Bystander", "Lawyer", "Delivery Man", "Doctor", "Old Man",
+            "Bartender", "Electrician", "Taxi Driver", "Tutor");
+    static final MethodHandle CONVERT_TO_GRAYSCALE = handle(method(SCENE, "convertToGrayscale", BufferedImage.class));
+    static final MethodHandle DRAW_ANSWER = handle(method(ANIMATION, "drawAnswer", Graphics2D.class, ANSWER_DISPLAY, int.class, int.class));
+    static final MethodHandle DRAW = handle(method(ANIMATION, "draw", Graphics2D.class));
+
+    private GameAccess() {
+    }
+
+    // Built without a window, the scene only needs one to switch back to the menu
+    static Object newScene() throws Throwable {
+        Constructor<?> constructor = SCENE.getDeclaredConstructors()[0];
+        constructor.setAccessible(true);
+        return constructor.newInstance((Object) null);
+    }
+
+    static Object newAnimation(Object scene, String character) throws Throwable {
+        Constructor<?> constructor = constructor(ANIMATION, SCENE, String.class);
+        Object animation = constructor.newInstance(scene, character);
+        method(ANIMATION, "setSize", int.class, int.class).invoke(animation, 176, 423);
+        method(ANIMATION, "setPosition", int.class, int.class).invoke(animation, 100, 153);
+        return animation;
+    }
+
+    // Puts a fully typed answer above the character, as it looks once the typewriter finishes
+    static Object showAnswer(Object scene, Object animation, String character, String text) throws Throwable {
+        Object display = constructor(ANSWER_DISPLAY, SCENE, String.class, int.class, int.class, ANIMATION)
+                .newInstance(scene, text, 0, 0, animation);
+        method(type("TypewriterReveal"), "complete").invoke(field(ANSWER_DISPLAY, "reveal").get(display));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> displays = (Map<String, Object>) field(SCENE, "currentAnswerDisplays").get(scene);
+        displays.put(character, display);
+        return display;
+    }
+
+    static BufferedImage frame(Object animation, int index) throws Throwable {
+        return ((BufferedImage[]) field(ANIMATION, "frames").get(animation))[index];
+    }
+
+    static Object newEngine(Object reader, long seed) throws Throwable {
+        return NEW_ENGINE.invoke(reader, (Object) CHARACTERS, (Object) new Random(seed));
+    }
+
+    private static Class<?> type(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static Constructor<?> constructor(Class<?> type, Class<?>... parameters) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor(parameters);
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Method method(Class<?> type, String name, Class<?>... parameters) {
+        try {
+            Method method = type.getDeclaredMethod(name, parameters);
+            method.setAccessible(true);
+            return method;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Field field(Class<?> type, String name) {
+        try {
+            Field field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandle handle(Constructor<?> constructor) {
+        try {
+            MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+            return handle.asType(MethodType.genericMethodType(handle.type().parameterCount()));
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle handle(Method method) {
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            return handle.asType(MethodType.genericMethodType(handle.type().parameterCount()));
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
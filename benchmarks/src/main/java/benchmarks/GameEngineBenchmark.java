@@ -0,0 +1,38 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// A whole game through the headless engine: setup, three rounds of questions and an accusation
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class GameEngineBenchmark {
+    @Param({"3", "5"})
+    public int suspects;
+
+    private Object engine;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        Object reader = GameAccess.NEW_READER.invoke((Object) Corpus.write(Corpus.SHIPPED_SCENARIOS).toUri().toURL());
+        engine = GameAccess.newEngine(reader, 42);
+    }
+
+    @Benchmark
+    public Object playGame() throws Throwable {
+        GameAccess.NEW_GAME.invoke(engine, (Object) "Hard", (Object) suspects);
+        for (int round = 0; round < 3; round++) {
+            GameAccess.ASK_QUESTION.invoke(engine, (Object) (round % 3));
+            GameAccess.ANSWERS_HEARD.invoke(engine);
+            GameAccess.NEXT_ROUND.invoke(engine);
+        }
+        List<?> lineup = (List<?>) GameAccess.GET_SUSPECTS.invoke(engine);
+        return GameAccess.ACCUSE.invoke(engine, lineup.get(0));
+    }
+}
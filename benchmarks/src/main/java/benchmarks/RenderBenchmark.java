@@ -0,0 +1,69 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RenderBenchmark {
+    private static final String CHARACTER = "Lawyer";
+    private static final String WORDS = "I was by the oak tree reviewing a client's case when the alarm went off and "
+            + "everyone started running towards the fountain so I followed them to see what happened ";
+
+    // Answer length in words, the shipped answers run from about 5 to 40
+    @Param({"8", "24", "64"})
+    public int answerWords;
+
+    private BufferedImage canvas;
+    private Graphics2D g2d;
+    private Object scene;
+    private Object animation;
+    private BufferedImage frame;
+    private Object answer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        canvas = new BufferedImage(1225, 818, BufferedImage.TYPE_INT_ARGB);
+        g2d = canvas.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        StringBuilder text = new StringBuilder();
+        String[] words = WORDS.trim().split(" ");
+        for (int i = 0; i < answerWords; i++) {
+            text.append(i == 0 ? "" : " ").append(words[i % words.length]);
+        }
+
+        scene = GameAccess.newScene();
+        animation = GameAccess.newAnimation(scene, CHARACTER);
+        answer = GameAccess.showAnswer(scene, animation, CHARACTER, text.toString());
+        frame = GameAccess.frame(animation, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g2d.dispose();
+    }
+
+    @Benchmark
+    public void drawAnswer() throws Throwable {
+        GameAccess.DRAW_ANSWER.invoke(animation, (Object) g2d, (Object) answer, (Object) 100, (Object) 153);
+    }
+
+    @Benchmark
+    public void drawCharacter() throws Throwable {
+        GameAccess.DRAW.invoke(animation, (Object) g2d);
+    }
+
+    @Benchmark
+    public Object convertToGrayscale() throws Throwable {
+        return GameAccess.CONVERT_TO_GRAYSCALE.invoke(scene, (Object) frame);
+    }
+}
@@ -0,0 +1,75 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ScenarioDataBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class CorpusState {
+        @Param({"9", "90", "900"})
+        public int scenarioCount;
+
+        URL csvFile;
+        Object reader;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Throwable {
+            csvFile = Corpus.write(scenarioCount).toUri().toURL();
+            reader = GameAccess.NEW_READER.invoke((Object) csvFile);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class EngineState {
+        // A suspect telling the truth, the imposter lying, and a character with no answer on file
+        @Param({"suspect", "imposter", "missing"})
+        public String character;
+
+        Object engine;
+        Object question;
+        String name;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Throwable {
+            Object reader = GameAccess.NEW_READER.invoke((Object) Corpus.write(Corpus.SHIPPED_SCENARIOS).toUri().toURL());
+            engine = GameAccess.newEngine(reader, 42);
+            GameAccess.NEW_GAME.invoke(engine, (Object) "Medium", (Object) 5);
+            question = ((List<?>) GameAccess.GET_ROUND_QUESTIONS.invoke(engine)).get(0);
+
+            String imposter = (String) GameAccess.GET_IMPOSTER.invoke(engine);
+            List<?> suspects = (List<?>) GameAccess.GET_SUSPECTS.invoke(engine);
+            switch (character) {
+                case "imposter" -> name = imposter;
+                case "suspect" -> name = (String) (suspects.get(0).equals(imposter) ? suspects.get(1) : suspects.get(0));
+                default -> name = "Nobody";
+            }
+        }
+    }
+
+    @Benchmark
+    public Object loadAndParse(CorpusState state) throws Throwable {
+        return GameAccess.NEW_READER.invoke((Object) state.csvFile);
+    }
+
+    @Benchmark
+    public void getRandomScenario(CorpusState state, Blackhole blackhole) throws Throwable {
+        blackhole.consume(GameAccess.GET_RANDOM_SCENARIO.invoke(state.reader, (Object) "Easy"));
+        blackhole.consume(GameAccess.GET_RANDOM_SCENARIO.invoke(state.reader, (Object) "Medium"));
+        blackhole.consume(GameAccess.GET_RANDOM_SCENARIO.invoke(state.reader, (Object) "Hard"));
+    }
+
+    @Benchmark
+    public Object findAnswerForCharacter(EngineState state) throws Throwable {
+        return GameAccess.FIND_ANSWER.invoke(state.engine, state.question, (Object) state.name);
+    }
+}
@@ -1,7 +1,6 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -20,25 +19,11 @@ class AnimatedCharacter extends JPanel {
         setPreferredSize(new Dimension(225, 540));
 
         try {
-            // Load the right frames
-            if (characterType.equals("Bystander")) {
-                frames[0] = ImageIO.read(getClass().getResource("bystander 111.png"));
-                frames[1] = ImageIO.read(getClass().getResource("bystander 222.png"));
-                frames[2] = ImageIO.read(getClass().getResource("bystander 333.png"));
-            } else if (characterType.equals("Delivery Man")) {
-                frames[0] = ImageIO.read(getClass().getResource("Delivery Man 1.png"));
-                frames[1] = ImageIO.read(getClass().getResource("Delivery Man 2.png"));
-                frames[2] = ImageIO.read(getClass().getResource("Delivery Man 3.png"));
-            } else if (characterType.equals("Lawyer")) {
-                frames[0] = ImageIO.read(getClass().getResource("lawyer 1.png"));
-                frames[1] = ImageIO.read(getClass().getResource("lawyer 2.png"));
-                frames[2] = ImageIO.read(getClass().getResource("lawyer 3.png"));
-            } else {
-                // Handles other characters
-                String baseName = characterType.toLowerCase().replace(" ", "_");
-                frames[0] = ImageIO.read(getClass().getResource(baseName + " 1.png"));
-                frames[1] = ImageIO.read(getClass().getResource(baseName + " 2.png"));
-                frames[2] = ImageIO.read(getClass().getResource(baseName + " 3.png"));
+            String[] framePaths = AssetManifest.getCharacterFrames(characterType);
+            if (framePaths != null) {
+                for (int i = 0; i < frames.length; i++) {
+                    frames[i] = AssetPreloader.readImage(framePaths[i]);
+                }
             }
 
             // Scale all frames to half size
@@ -73,7 +58,7 @@ class AnimatedCharacter extends JPanel {
             currentFrame = (currentFrame + 1) % 3;
             repaint();
         });
-        animationTimer.start();
+        PerformanceOverlay.track(animationTimer).start();
     }
 
     public void stopAnimation() {
@@ -0,0 +1,187 @@
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Surface features of one answer that can give a liar away
+public class AnswerFeatures {
+    static final String[] HEDGES = {
+            "i think", "maybe", "not sure", "i guess", "probably", "i don't remember", "i can't remember",
+            "might", "kind of", "sort of", "i believe", "barely", "don't know", "didn't check", "somewhere"
+    };
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "was", "were", "with", "that", "this", "from", "have", "they", "their", "there",
+            "about", "into", "near", "then", "than", "when", "what", "where", "which", "while", "been",
+            "just", "only", "some", "would", "could", "didn't", "don't", "i'm", "it's", "saw", "seen");
+
+    // A negation covers the next this many words, not counting short and stop words
+    private static final int NEGATION_WINDOW = 1;
+
+    private static final Set<String> NEGATIONS = Set.of(
+            "no", "not", "never", "nothing", "nobody", "none", "neither", "nor", "without");
+
+    private static final Map<String, String> NUMBER_WORDS = new HashMap<>();
+
+    static {
+        String[] words = {"zero", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine", "ten",
+                "eleven", "twelve", "thirteen", "fourteen", "fifteen", "sixteen", "seventeen", "eighteen",
+                "nineteen", "twenty"};
+        for (int i = 0; i < words.length; i++) {
+            NUMBER_WORDS.put(words[i], String.valueOf(i));
+        }
+    }
+
+    public final int length;
+    public final int words;
+    public final int hedges;
+    public final int contradictions;
+
+    private AnswerFeatures(int length, int words, int hedges, int contradictions) {
+        this.length = length;
+        this.words = words;
+        this.hedges = hedges;
+        this.contradictions = contradictions;
+    }
+
+    // The facts an answer can contradict: the description's content words, and each counted thing
+    // ("9 people") with its number. Built once per scenario.
+    public static class Description {
+        final Set<String> terms;
+        final Map<String, String> quantities = new HashMap<>();
+
+        private Description(String text) {
+            terms = contentWords(text);
+            String normalized = normalize(text);
+            String number = null;
+            int start = -1;
+            for (int i = 0; i <= normalized.length(); i++) {
+                boolean wordChar = i < normalized.length() && isWordChar(normalized.charAt(i));
+                if (wordChar && start < 0) {
+                    start = i;
+                } else if (!wordChar && start >= 0) {
+                    String word = normalized.substring(start, i);
+                    if (number != null && isUnit(word)) {
+                        quantities.putIfAbsent(word, number);
+                    }
+                    number = numberValue(word);
+                    start = -1;
+                }
+                if (!wordChar && i < normalized.length() && endsClause(normalized.charAt(i))) {
+                    number = null;
+                }
+            }
+        }
+    }
+
+    public static Description describe(String description) {
+        return new Description(description);
+    }
+
+    // Contradictions are description terms the answer negates ("I wasn't near the fountain") and
+    // counts that differ from the description's ("5 people" where it says 9)
+    public static AnswerFeatures of(String answer, Description description) {
+        String text = normalize(answer);
+        int words = 0;
+        int contradictions = 0;
+        int sinceNegation = NEGATION_WINDOW + 1;
+        String number = null;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && isWordChar(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words++;
+                String word = text.substring(start, i);
+                if (number != null) {
+                    String stated = description.quantities.get(word);
+                    if (stated != null && !stated.equals(number)) {
+                        contradictions++;
+                    }
+                }
+                number = numberValue(word);
+                if (NEGATIONS.contains(word) || word.endsWith("n't")) {
+                    sinceNegation = 0;
+                } else if (word.length() >= 3 && !STOP_WORDS.contains(word)
+                        && ++sinceNegation <= NEGATION_WINDOW && description.terms.contains(word)) {
+                    contradictions++;
+                    sinceNegation = NEGATION_WINDOW + 1;
+                }
+                start = -1;
+            }
+            if (!wordChar && i < text.length() && endsClause(text.charAt(i))) {
+                sinceNegation = NEGATION_WINDOW + 1;
+                number = null;
+            }
+        }
+        return new AnswerFeatures(answer.length(), words, hedgeCount(text), contradictions);
+    }
+
+    // Each hedge counts once, and only as whole words: "might" is not found in "mighty"
+    public static int hedgeCount(String normalized) {
+        int hedges = 0;
+        for (String hedge : HEDGES) {
+            if (containsWords(normalized, hedge)) {
+                hedges++;
+            }
+        }
+        return hedges;
+    }
+
+    private static boolean containsWords(String text, String phrase) {
+        for (int at = text.indexOf(phrase); at >= 0; at = text.indexOf(phrase, at + 1)) {
+            int end = at + phrase.length();
+            if ((at == 0 || !isWordChar(text.charAt(at - 1)))
+                    && (end == text.length() || !isWordChar(text.charAt(end)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Distinct words of four or more letters that aren't stop words
+    public static Set<String> contentWords(String text) {
+        Set<String> words = new HashSet<>();
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && isWordChar(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String word = normalized.substring(start, i);
+                if (word.length() >= 4 && !STOP_WORDS.contains(word)) {
+                    words.add(word);
+                }
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    public static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT).replace('\u2019', '\'');
+    }
+
+    private static String numberValue(String word) {
+        if (!word.isEmpty() && word.chars().allMatch(Character::isDigit)) {
+            return word.replaceFirst("^0+(?=.)", "");
+        }
+        return NUMBER_WORDS.get(word);
+    }
+
+    private static boolean isUnit(String word) {
+        // Clock times are left out, an answer naming another time is usually about another moment
+        return word.length() >= 3 && !STOP_WORDS.contains(word) && numberValue(word) == null;
+    }
+
+    private static boolean endsClause(char c) {
+        return c == '.' || c == '!' || c == '?' || c == ';';
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '\'';
+    }
+}
@@ -0,0 +1,251 @@
+import java.io.File;
+import java.net.MalformedURLException;
+import java.util.*;
+
+// Batch analytics over every innocent/guilty answer pair, flags guilty answers that stand out on their own.
+// Questions are independent, so they are processed as a parallel stream and the tallies merged.
+public class AnswerTells {
+    private static final double LENGTH_Z_THRESHOLD = 2.0;
+    private static final double MIN_WORD_SPREAD = 1.0;
+
+    private static final String[] FEATURES = {"words", "hedges", "contradictions"};
+
+    // Running mean and variance that can be merged across threads (Welford, Chan et al.)
+    static class Stats {
+        long count;
+        double mean;
+        double m2;
+
+        void add(double value) {
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+        }
+
+        void merge(Stats other) {
+            if (other.count == 0) {
+                return;
+            }
+            long total = count + other.count;
+            double delta = other.mean - mean;
+            mean += delta * other.count / total;
+            m2 += other.m2 + delta * delta * count * other.count / total;
+            count = total;
+        }
+
+        double stddev() {
+            return count > 1 ? Math.sqrt(m2 / (count - 1)) : 0;
+        }
+    }
+
+    // Guilty minus innocent for each feature, plus how many guilty answers were flagged
+    static class Group {
+        final Stats[] deltas = {new Stats(), new Stats(), new Stats()};
+        long flagged;
+
+        void add(AnswerFeatures innocent, AnswerFeatures guilty, boolean isFlagged) {
+            deltas[0].add(guilty.words - innocent.words);
+            deltas[1].add(guilty.hedges - innocent.hedges);
+            deltas[2].add(guilty.contradictions - innocent.contradictions);
+            if (isFlagged) {
+                flagged++;
+            }
+        }
+
+        void merge(Group other) {
+            for (int i = 0; i < deltas.length; i++) {
+                deltas[i].merge(other.deltas[i]);
+            }
+            flagged += other.flagged;
+        }
+    }
+
+    public static class Flag {
+        public final String scenario;
+        public final String question;
+        public final String character;
+        public final String reasons;
+
+        Flag(String scenario, String question, String character, String reasons) {
+            this.scenario = scenario;
+            this.question = question;
+            this.character = character;
+            this.reasons = reasons;
+        }
+    }
+
+    static class Tally {
+        final Map<String, Group> byScenario = new HashMap<>();
+        final Map<String, Group> byQuestion = new HashMap<>();
+        final Map<String, Group> byCharacter = new HashMap<>();
+        final List<Flag> flags = new ArrayList<>();
+
+        void add(ScenarioDataReader.Scenario scenario, ScenarioDataReader.Question question,
+                AnswerFeatures.Description description) {
+            List<ScenarioDataReader.Answer> answers = question.answers;
+            int size = answers.size();
+            AnswerFeatures[] innocent = new AnswerFeatures[size];
+            AnswerFeatures[] guilty = new AnswerFeatures[size];
+            double wordSum = 0;
+            double wordSquares = 0;
+            int hedgingInnocents = 0;
+            int contradictingInnocents = 0;
+            for (int i = 0; i < size; i++) {
+                innocent[i] = AnswerFeatures.of(answers.get(i).innocentResponse, description);
+                guilty[i] = AnswerFeatures.of(answers.get(i).guiltyResponse, description);
+                wordSum += innocent[i].words;
+                wordSquares += (double) innocent[i].words * innocent[i].words;
+                if (innocent[i].hedges > 0) {
+                    hedgingInnocents++;
+                }
+                if (innocent[i].contradictions > 0) {
+                    contradictingInnocents++;
+                }
+            }
+
+            Group scenarioGroup = group(byScenario, scenario.id);
+            Group questionGroup = group(byQuestion, scenario.id + " / " + question.id);
+            for (int i = 0; i < size; i++) {
+                // In play the liar's answer sits among everyone else's true ones, so compare against those
+                int others = size - 1;
+                double othersMean = others > 0 ? (wordSum - innocent[i].words) / others : innocent[i].words;
+                double othersVariance = others > 1
+                        ? ((wordSquares - (double) innocent[i].words * innocent[i].words) - others * othersMean * othersMean) / (others - 1)
+                        : 0;
+                double spread = Math.max(MIN_WORD_SPREAD, Math.sqrt(Math.max(0, othersVariance)));
+                double lengthZ = (guilty[i].words - othersMean) / spread;
+
+                StringBuilder reasons = new StringBuilder();
+                if (Math.abs(lengthZ) >= LENGTH_Z_THRESHOLD) {
+                    reasons.append("length z=").append(Math.round(lengthZ * 10) / 10.0);
+                }
+                int otherHedgers = hedgingInnocents - (innocent[i].hedges > 0 ? 1 : 0);
+                if (guilty[i].hedges > 0 && otherHedgers == 0) {
+                    appendReason(reasons, "only hedger");
+                }
+                int otherContradictors = contradictingInnocents - (innocent[i].contradictions > 0 ? 1 : 0);
+                if (guilty[i].contradictions > 0 && otherContradictors == 0) {
+                    appendReason(reasons, "contradicts description");
+                }
+
+                boolean isFlagged = reasons.length() > 0;
+                String character = answers.get(i).character;
+                scenarioGroup.add(innocent[i], guilty[i], isFlagged);
+                questionGroup.add(innocent[i], guilty[i], isFlagged);
+                group(byCharacter, character).add(innocent[i], guilty[i], isFlagged);
+                if (isFlagged) {
+                    flags.add(new Flag(scenario.id, question.id, character, reasons.toString()));
+                }
+            }
+        }
+
+        void merge(Tally other) {
+            mergeGroups(byScenario, other.byScenario);
+            mergeGroups(byQuestion, other.byQuestion);
+            mergeGroups(byCharacter, other.byCharacter);
+            flags.addAll(other.flags);
+        }
+
+        private static Group group(Map<String, Group> groups, String key) {
+            return groups.computeIfAbsent(key, k -> new Group());
+        }
+
+        private static void mergeGroups(Map<String, Group> into, Map<String, Group> from) {
+            for (Map.Entry<String, Group> entry : from.entrySet()) {
+                group(into, entry.getKey()).merge(entry.getValue());
+            }
+        }
+
+        private static void appendReason(StringBuilder reasons, String reason) {
+            if (reasons.length() > 0) {
+                reasons.append(", ");
+            }
+            reasons.append(reason);
+        }
+    }
+
+    private static class Item {
+        final ScenarioDataReader.Scenario scenario;
+        final ScenarioDataReader.Question question;
+        final AnswerFeatures.Description description;
+
+        Item(ScenarioDataReader.Scenario scenario, ScenarioDataReader.Question question,
+                AnswerFeatures.Description description) {
+            this.scenario = scenario;
+            this.question = question;
+            this.description = description;
+        }
+    }
+
+    public static Tally analyze(ScenarioDataReader data) {
+        List<Item> items = new ArrayList<>();
+        for (ScenarioDataReader.Scenario scenario : data.getScenarios()) {
+            AnswerFeatures.Description description = AnswerFeatures.describe(scenario.description);
+            for (ScenarioDataReader.Question question : scenario.questions) {
+                items.add(new Item(scenario, question, description));
+            }
+        }
+        return items.parallelStream().collect(Tally::new,
+                (tally, item) -> tally.add(item.scenario, item.question, item.description),
+                Tally::merge);
+    }
+
+    public static String report(Tally tally) {
+        StringBuilder report = new StringBuilder();
+        appendGroups(report, "scenario", tally.byScenario);
+        appendGroups(report, "question", tally.byQuestion);
+        appendGroups(report, "character", tally.byCharacter);
+
+        List<Flag> flags = new ArrayList<>(tally.flags);
+        flags.sort(Comparator.comparing((Flag f) -> f.scenario).thenComparing(f -> f.question).thenComparing(f -> f.character));
+        report.append("\nscenario\tquestion\tcharacter\treasons\n");
+        for (Flag flag : flags) {
+            report.append(flag.scenario).append('\t').append(flag.question).append('\t')
+                    .append(flag.character).append('\t').append(flag.reasons).append('\n');
+        }
+        return report.toString();
+    }
+
+    private static void appendGroups(StringBuilder report, String groupName, Map<String, Group> groups) {
+        report.append(groupName).append("\tpairs");
+        for (String feature : FEATURES) {
+            report.append('\t').append(feature).append("_delta\t").append(feature).append("_sd");
+        }
+        report.append("\tflagged\tflagged_rate\n");
+        for (Map.Entry<String, Group> entry : new TreeMap<>(groups).entrySet()) {
+            Group group = entry.getValue();
+            long pairs = group.deltas[0].count;
+            report.append(entry.getKey()).append('\t').append(pairs);
+            for (Stats stats : group.deltas) {
+                report.append('\t').append(format(stats.mean)).append('\t').append(format(stats.stddev()));
+            }
+            report.append('\t').append(group.flagged)
+                    .append('\t').append(format(pairs == 0 ? 0 : (double) group.flagged / pairs)).append('\n');
+        }
+        report.append('\n');
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    // Usage: AnswerTells [scenario csv], defaults to the game's own data
+    public static void main(String[] args) throws MalformedURLException {
+        long start = System.nanoTime();
+        ScenarioDataReader data = args.length > 0
+                ? new ScenarioDataReader(new File(args[0]).toURI().toURL())
+                : new ScenarioDataReader();
+        long loaded = System.nanoTime();
+        Tally tally = analyze(data);
+        long analyzed = System.nanoTime();
+
+        System.out.print(report(tally));
+        long pairs = 0;
+        for (Group group : tally.byScenario.values()) {
+            pairs += group.deltas[0].count;
+        }
+        System.err.printf(Locale.ROOT, "%d answer pairs, loaded in %.2f s, analyzed in %.2f s, %d flagged%n",
+                pairs, (loaded - start) / 1e9, (analyzed - loaded) / 1e9, tally.flags.size());
+    }
+}
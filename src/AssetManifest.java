@@ -0,0 +1,128 @@
+import javax.swing.*;
+import java.awt.image.BufferedImage;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URL;
+import java.util.*;
+
+public class AssetManifest {
+    public static final String SCENARIO_DATA = "Master Scenarios FINALLLL REAL.csv";
+
+    private static final String[] IMAGES = {
+            "Behind the Lie Crime Detective.png", "Start Game.png", "Difficulty.png", "Num. Of Suspects.png",
+            "Exit.png", "Suspect Background.png", "Next Button.png", "notepad.png", "Scenario.png"
+    };
+
+    // Short sounds decoded into memory, everything else is streamed
+    private static final String[] SOUND_EFFECTS = {
+            "Main Click.wav", "notepad.wav", "Scenario.wav"
+    };
+
+    private static final String[] STREAMED_SOUNDS = {
+            "win.wav", "lose.wav"
+    };
+
+    // Music the scenes ask for but can play without
+    private static final String[] OPTIONAL_ASSETS = {
+            "detective song.wav", "GameScene.wav", "suspense.wav"
+    };
+
+    private static final Map<String, String[]> CHARACTER_FRAMES = new LinkedHashMap<>();
+
+    static {
+        CHARACTER_FRAMES.put("Bystander", new String[]{"bystander 111.png", "bystander 222.png", "bystander 333.png"});
+        CHARACTER_FRAMES.put("Lawyer", new String[]{"lawyer 1.png", "lawyer 2.png", "lawyer 3.png"});
+        for (String name : new String[]{"Delivery Man", "Doctor", "Old Man", "Bartender", "Electrician", "Taxi Driver", "Tutor"}) {
+            CHARACTER_FRAMES.put(name, new String[]{name + " 1.png", name + " 2.png", name + " 3.png"});
+        }
+    }
+
+    private static final Map<String, URL> resolved = new HashMap<>();
+    private static final Set<String> missing = new LinkedHashSet<>();
+    private static final List<String> missingRequired = new ArrayList<>();
+
+    static {
+        List<String> required = new ArrayList<>();
+        required.add(SCENARIO_DATA);
+        required.addAll(getImages());
+        required.addAll(Arrays.asList(SOUND_EFFECTS));
+        required.addAll(Arrays.asList(STREAMED_SOUNDS));
+        for (String name : required) {
+            if (resolve(name) == null) {
+                missingRequired.add(name);
+            }
+        }
+        for (String name : OPTIONAL_ASSETS) {
+            resolve(name);
+        }
+        if (!missing.isEmpty()) {
+            System.err.println("Missing assets: " + missing);
+        }
+    }
+
+    private AssetManifest() {
+    }
+
+    private static URL resolve(String name) {
+        URL url = AssetManifest.class.getClassLoader().getResource(name);
+        if (url == null) {
+            missing.add(name);
+        } else {
+            resolved.put(name, url);
+        }
+        return url;
+    }
+
+    // Shows an error and exits if anything the game can't run without is missing
+    public static void preflight() {
+        if (!missingRequired.isEmpty()) {
+            JOptionPane.showMessageDialog(null, "Missing game files:\n" + String.join("\n", missingRequired),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            System.exit(1);
+        }
+    }
+
+    // Returns null for missing assets without touching the classpath again
+    public static synchronized URL url(String name) {
+        URL url = resolved.get(name);
+        if (url != null || missing.contains(name)) {
+            return url;
+        }
+        System.err.println("Asset not declared in manifest: " + name);
+        url = resolve(name);
+        return url;
+    }
+
+    public static boolean isAvailable(String name) {
+        return url(name) != null;
+    }
+
+    public static BufferedImage readImage(String name) throws IOException {
+        URL url = url(name);
+        if (url == null) {
+            throw new FileNotFoundException("Missing asset: " + name);
+        }
+        return DecodedAssetCache.readImage(url);
+    }
+
+    public static List<String> getImages() {
+        List<String> images = new ArrayList<>(Arrays.asList(IMAGES));
+        for (String[] frames : CHARACTER_FRAMES.values()) {
+            images.addAll(Arrays.asList(frames));
+        }
+        return images;
+    }
+
+    public static List<String> getSoundEffects() {
+        return Arrays.asList(SOUND_EFFECTS);
+    }
+
+    public static Set<String> getCharacters() {
+        return Collections.unmodifiableSet(CHARACTER_FRAMES.keySet());
+    }
+
+    public static String[] getCharacterFrames(String character) {
+        String[] frames = CHARACTER_FRAMES.get(character);
+        return frames == null ? null : frames.clone();
+    }
+}
@@ -0,0 +1,69 @@
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AssetPreloader {
+    private static final ExecutorService workers = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "Asset Preloader");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private static final Map<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+
+    public interface ProgressListener {
+        void onProgress(int completed, int total);
+    }
+
+    private AssetPreloader() {
+    }
+
+    // Decodes every image and sound effect in the manifest on the worker pool, the listener is called from worker threads
+    public static CompletableFuture<Void> start(ProgressListener listener) {
+        List<String> imageNames = AssetManifest.getImages();
+        List<String> soundNames = AssetManifest.getSoundEffects();
+        int total = imageNames.size() + soundNames.size();
+        AtomicInteger completed = new AtomicInteger();
+
+        List<CompletableFuture<?>> tasks = new ArrayList<>();
+        for (String name : imageNames) {
+            tasks.add(image(name));
+        }
+        for (String name : soundNames) {
+            tasks.add(CompletableFuture.runAsync(() -> SoundBank.preload(name), workers));
+        }
+        for (CompletableFuture<?> task : tasks) {
+            task.whenComplete((result, error) -> listener.onProgress(completed.incrementAndGet(), total));
+        }
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]))
+                .exceptionally(error -> null); // failed images are reported when a scene reads them
+    }
+
+    public static CompletableFuture<BufferedImage> image(String name) {
+        return images.computeIfAbsent(name, n -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return AssetManifest.readImage(n);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, workers));
+    }
+
+    // Waits for the preloaded image, or decodes it now if nobody asked for it yet
+    public static BufferedImage readImage(String name) throws IOException {
+        try {
+            return image(name).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException("Failed to load " + name, e.getCause());
+        }
+    }
+}
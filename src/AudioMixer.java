@@ -0,0 +1,276 @@
+import javax.sound.sampled.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class AudioMixer implements Runnable {
+    public static final AudioFormat FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+    public static final int CHANNELS = 2;
+    private static final int BLOCK_FRAMES = 512;       // ~12 ms per mix pass
+    private static final int LINE_BUFFER_FRAMES = 2048; // ~46 ms output latency
+    private static final float DUCK_GAIN = 0.3f;
+    private static final int DUCK_FADE_MS = 150;
+
+    public enum Bus {
+        MUSIC, EFFECTS
+    }
+
+    private static AudioMixer instance;
+
+    private final List<Voice> voices = new ArrayList<>();
+    private final Map<Bus, GainRamp> busGains = new EnumMap<>(Bus.class);
+    private final Map<Bus, Integer> duckCounts = new EnumMap<>(Bus.class);
+    private SourceDataLine line;
+
+    // Linear gain that moves towards its target one frame at a time
+    static class GainRamp {
+        private volatile float current;
+        private volatile float target;
+        private volatile float step = 0;
+
+        GainRamp(float gain) {
+            this.current = gain;
+            this.target = gain;
+        }
+
+        synchronized void set(float gain) {
+            current = gain;
+            target = gain;
+            step = 0;
+        }
+
+        synchronized void rampTo(float gain, int millis) {
+            target = gain;
+            int frames = (int) (FORMAT.getSampleRate() * millis / 1000);
+            if (frames <= 0) {
+                current = gain;
+                step = 0;
+            } else {
+                step = (gain - current) / frames;
+            }
+        }
+
+        // Not synchronized, only the mixer thread advances ramps
+        float next() {
+            if (step != 0) {
+                current += step;
+                if ((step > 0 && current >= target) || (step < 0 && current <= target)) {
+                    current = target;
+                    step = 0;
+                }
+            }
+            return current;
+        }
+
+        boolean isSilentAndSettled() {
+            return step == 0 && current <= 0;
+        }
+    }
+
+    public abstract static class Voice {
+        private final Bus bus;
+        private final GainRamp gain = new GainRamp(1.0f);
+        private volatile boolean stopWhenSilent = false;
+        private volatile boolean restartRequested = false;
+        volatile boolean active = false;
+
+        protected Voice(Bus bus) {
+            this.bus = bus;
+        }
+
+        // Fills up to frames interleaved stereo frames, returns how many were produced (fewer means finished)
+        protected abstract int render(short[] buffer, int frames);
+
+        protected void onFinished() {
+        }
+
+        // Called on the mixer thread before the render that follows a restart
+        protected void rewind() {
+        }
+
+        public boolean isPlaying() {
+            return active;
+        }
+
+        public void setGain(float value) {
+            gain.set(value);
+        }
+
+        public void fadeTo(float value, int millis) {
+            stopWhenSilent = false;
+            gain.rampTo(value, millis);
+        }
+
+        public void fadeOut(int millis) {
+            gain.rampTo(0, millis);
+            stopWhenSilent = true;
+        }
+
+        protected void start() {
+            stopWhenSilent = false;
+            AudioMixer.get().add(this);
+        }
+
+        // Plays again from the top, also while still playing. The mixer thread does the rewind,
+        // so it can't race with a render in progress and the voice can't be dropped as it finishes.
+        protected void restart() {
+            restartRequested = true;
+            start();
+        }
+
+        public void stop() {
+            restartRequested = false;
+            AudioMixer.get().remove(this);
+        }
+    }
+
+    private AudioMixer() {
+        for (Bus bus : Bus.values()) {
+            busGains.put(bus, new GainRamp(1.0f));
+        }
+    }
+
+    public static synchronized AudioMixer get() {
+        if (instance == null) {
+            instance = new AudioMixer();
+            Thread thread = new Thread(instance, "Audio Mixer");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MAX_PRIORITY);
+            thread.start();
+        }
+        return instance;
+    }
+
+    public void setBusGain(Bus bus, float gain) {
+        busGains.get(bus).set(gain);
+    }
+
+    // Every duck(bus, true) needs its own duck(bus, false), the bus comes back up after the last one
+    public void duck(Bus bus, boolean ducked) {
+        synchronized (duckCounts) {
+            int before = duckCounts.getOrDefault(bus, 0);
+            int after = ducked ? before + 1 : Math.max(0, before - 1);
+            duckCounts.put(bus, after);
+            if (before == 0 && after == 1) {
+                busGains.get(bus).rampTo(DUCK_GAIN, DUCK_FADE_MS);
+            } else if (before == 1 && after == 0) {
+                busGains.get(bus).rampTo(1.0f, DUCK_FADE_MS);
+            }
+        }
+    }
+
+    private synchronized void add(Voice voice) {
+        if (!voice.active) {
+            voice.active = true;
+            voices.add(voice);
+            notifyAll();
+        }
+    }
+
+    private synchronized void remove(Voice voice) {
+        voice.active = false;
+        voices.remove(voice);
+    }
+
+    // A voice that ran out stays in the mix if it was restarted meanwhile
+    private synchronized boolean finish(Voice voice) {
+        if (voice.restartRequested) {
+            return false;
+        }
+        remove(voice);
+        return true;
+    }
+
+    private synchronized Voice[] awaitVoices(Voice[] reuse) throws InterruptedException {
+        while (voices.isEmpty()) {
+            wait();
+        }
+        return voices.toArray(reuse);
+    }
+
+    @Override
+    public void run() {
+        openLine();
+
+        float[] mix = new float[BLOCK_FRAMES * CHANNELS];
+        short[] voiceBuffer = new short[BLOCK_FRAMES * CHANNELS];
+        byte[] output = new byte[BLOCK_FRAMES * CHANNELS * 2];
+        Voice[] snapshot = new Voice[8];
+        Map<Bus, float[]> busFrames = new EnumMap<>(Bus.class);
+        for (Bus bus : Bus.values()) {
+            busFrames.put(bus, new float[BLOCK_FRAMES]);
+        }
+        long blockNanos = (long) (BLOCK_FRAMES * 1_000_000_000L / FORMAT.getSampleRate());
+
+        try {
+            while (true) {
+                snapshot = awaitVoices(snapshot);
+                Arrays.fill(mix, 0f);
+                for (Bus bus : Bus.values()) {
+                    GainRamp busGain = busGains.get(bus);
+                    float[] frames = busFrames.get(bus);
+                    for (int frame = 0; frame < BLOCK_FRAMES; frame++) {
+                        frames[frame] = busGain.next();
+                    }
+                }
+
+                for (Voice voice : snapshot) {
+                    if (voice == null) {
+                        break;
+                    }
+                    mixVoice(voice, busFrames.get(voice.bus), mix, voiceBuffer);
+                }
+                Arrays.fill(snapshot, null);
+
+                for (int i = 0; i < mix.length; i++) {
+                    int sample = Math.round(mix[i]);
+                    sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sample));
+                    output[i * 2] = (byte) sample;
+                    output[i * 2 + 1] = (byte) (sample >> 8);
+                }
+
+                if (line != null) {
+                    line.write(output, 0, output.length);
+                } else {
+                    // No audio device, keep voices advancing in real time so they still finish
+                    Thread.sleep(blockNanos / 1_000_000L, (int) (blockNanos % 1_000_000L));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void mixVoice(Voice voice, float[] busGain, float[] mix, short[] voiceBuffer) {
+        if (voice.restartRequested) {
+            voice.restartRequested = false;
+            voice.rewind();
+        }
+        int produced = voice.render(voiceBuffer, BLOCK_FRAMES);
+
+        for (int frame = 0; frame < produced; frame++) {
+            float gain = voice.gain.next() * busGain[frame];
+            int index = frame * CHANNELS;
+            mix[index] += voiceBuffer[index] * gain;
+            mix[index + 1] += voiceBuffer[index + 1] * gain;
+        }
+        if (produced < BLOCK_FRAMES || (voice.stopWhenSilent && voice.gain.isSilentAndSettled())) {
+            if (finish(voice)) {
+                voice.onFinished();
+            }
+        }
+    }
+
+    private void openLine() {
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, LINE_BUFFER_FRAMES * FORMAT.getFrameSize());
+            line.start();
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            System.err.println("No audio output available, mixing silently: " + e.getMessage());
+            line = null;
+        }
+    }
+}
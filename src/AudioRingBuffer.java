@@ -0,0 +1,80 @@
+public class AudioRingBuffer {
+    private final byte[] data;
+    private int readPos = 0;
+    private int count = 0;
+    private boolean finished = false;
+    private boolean closed = false;
+
+    public AudioRingBuffer(int capacity) {
+        this.data = new byte[capacity];
+    }
+
+    // Blocks until everything is written, returns false if the buffer was closed meanwhile
+    public synchronized boolean write(byte[] src, int offset, int length) throws InterruptedException {
+        while (length > 0) {
+            while (count == data.length && !closed) {
+                wait();
+            }
+            if (closed) {
+                return false;
+            }
+            int writePos = (readPos + count) % data.length;
+            int chunk = Math.min(length, Math.min(data.length - count, data.length - writePos));
+            System.arraycopy(src, offset, data, writePos, chunk);
+            count += chunk;
+            offset += chunk;
+            length -= chunk;
+            notifyAll();
+        }
+        return true;
+    }
+
+    // Blocks until some data is available, returns -1 once the producer finished and the buffer is drained
+    public synchronized int read(byte[] dst, int offset, int length) throws InterruptedException {
+        while (count == 0 && !finished && !closed) {
+            wait();
+        }
+        if (closed || count == 0) {
+            return -1;
+        }
+        return take(dst, offset, length);
+    }
+
+    // Never blocks, returns 0 on underrun and -1 once the producer finished and the buffer is drained
+    public synchronized int poll(byte[] dst, int offset, int length) {
+        if (closed || (count == 0 && finished)) {
+            return -1;
+        }
+        if (count == 0) {
+            return 0;
+        }
+        return take(dst, offset, length);
+    }
+
+    private int take(byte[] dst, int offset, int length) {
+        int chunk = Math.min(length, Math.min(count, data.length - readPos));
+        System.arraycopy(data, readPos, dst, offset, chunk);
+        readPos = (readPos + chunk) % data.length;
+        count -= chunk;
+        if (chunk < length && count > 0) {
+            chunk += take(dst, offset + chunk, length - chunk);
+        }
+        notifyAll();
+        return chunk;
+    }
+
+    public synchronized void finish() {
+        finished = true;
+        notifyAll();
+    }
+
+    public synchronized void close() {
+        closed = true;
+        count = 0;
+        notifyAll();
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+}
@@ -0,0 +1,190 @@
+import javax.swing.*;
+import javax.swing.text.PlainDocument;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+
+// The Scenario and Notepad windows next to the game. Each is built once, before anyone clicks,
+// and afterwards only shown, hidden and given new content, so opening one doesn't create a native window.
+// EDT only.
+public class AuxiliaryWindows {
+    private static final String NO_SCENARIO = "No scenario information available";
+
+    private static JFrame scenarioWindow;
+    private static JTextArea scenarioText;
+    private static Runnable scenarioHidden;
+    private static ScenarioDataReader.Scenario shownScenario;
+
+    private static JFrame notepadWindow;
+    private static JTextArea notepadText;
+    private static Runnable notepadHidden;
+    private static NotepadStore.Notes shownNotes;
+
+    private AuxiliaryWindows() {
+    }
+
+    // Builds both windows, off the click path. Nothing to build without a display.
+    public static void prepare() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return;
+        }
+        if (scenarioWindow == null) {
+            buildScenarioWindow();
+            applyScenario();
+        }
+        if (notepadWindow == null) {
+            buildNotepadWindow();
+            applyNotes();
+        }
+    }
+
+    public static void showScenario(Component anchor, Runnable onHidden) {
+        prepare();
+        scenarioHidden = onHidden;
+        if (!scenarioWindow.isVisible()) {
+            Point mainWindowLoc = anchor.getLocationOnScreen();
+            scenarioWindow.setLocation(mainWindowLoc.x - scenarioWindow.getWidth(), mainWindowLoc.y);
+            scenarioText.setCaretPosition(0);
+            scenarioWindow.setVisible(true);
+        }
+        scenarioWindow.toFront();
+    }
+
+    public static void showNotepad(Component anchor, Runnable onHidden) {
+        prepare();
+        notepadHidden = onHidden;
+        if (!notepadWindow.isVisible()) {
+            Point mainWindowLoc = anchor.getLocationOnScreen();
+            notepadWindow.setLocation(mainWindowLoc.x + anchor.getWidth(), mainWindowLoc.y);
+            notepadWindow.setVisible(true);
+        }
+        notepadWindow.toFront();
+    }
+
+    // Updates the text in place, also when the window is already open
+    public static void setScenario(ScenarioDataReader.Scenario scenario) {
+        shownScenario = scenario;
+        if (scenarioWindow != null) {
+            applyScenario();
+        }
+    }
+
+    // Points the notepad at the notes of the game now being played
+    public static void setNotes(NotepadStore.Notes notes) {
+        if (notes == shownNotes) {
+            return;
+        }
+        shownNotes = notes;
+        if (notepadWindow != null) {
+            applyNotes();
+        }
+    }
+
+    private static void applyScenario() {
+        scenarioText.setText(shownScenario != null ? shownScenario.description : NO_SCENARIO);
+        scenarioText.setCaretPosition(0);
+    }
+
+    private static void applyNotes() {
+        NotepadStore.Notes notes = shownNotes;
+        notepadText.setDocument(notes != null ? notes.getDocument() : new PlainDocument());
+        if (notes != null && !notes.isLoaded()) {
+            notepadText.setEditable(false);
+            notes.whenLoaded(() -> {
+                if (shownNotes == notes) {
+                    notepadText.setEditable(true);
+                }
+            });
+        } else {
+            notepadText.setEditable(true);
+        }
+    }
+
+    public static void hideAll() {
+        if (scenarioWindow != null && scenarioWindow.isVisible()) {
+            scenarioWindow.setVisible(false);
+            runHidden(scenarioHidden);
+        }
+        if (notepadWindow != null && notepadWindow.isVisible()) {
+            notepadWindow.setVisible(false);
+            runHidden(notepadHidden);
+        }
+    }
+
+    private static void runHidden(Runnable onHidden) {
+        if (onHidden != null) {
+            onHidden.run();
+        }
+    }
+
+    private static void buildScenarioWindow() {
+        scenarioWindow = new JFrame("Scenario");
+        scenarioWindow.setSize(450, 350);
+        scenarioWindow.setDefaultCloseOperation(JFrame.HIDE_ON_CLOSE);
+
+        JPanel contentPanel = new JPanel(new BorderLayout());
+        contentPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+
+        scenarioText = new JTextArea();
+        scenarioText.setEditable(false);
+        scenarioText.setLineWrap(true);
+        scenarioText.setWrapStyleWord(true);
+        scenarioText.setFont(new Font("Arial", Font.PLAIN, 18));
+        scenarioText.setMargin(new Insets(10, 10, 10, 10));
+
+        JScrollPane scrollPane = new JScrollPane(scenarioText);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder());
+        contentPanel.add(scrollPane, BorderLayout.CENTER);
+        scenarioWindow.add(contentPanel);
+
+        scenarioWindow.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                runHidden(scenarioHidden);
+            }
+        });
+        // Realizes the native peer now instead of on the first click
+        scenarioWindow.addNotify();
+    }
+
+    private static void buildNotepadWindow() {
+        notepadWindow = new JFrame("Notepad");
+        notepadWindow.setSize(400, 350);
+        notepadWindow.setDefaultCloseOperation(JFrame.HIDE_ON_CLOSE);
+
+        notepadText = new JTextArea();
+        notepadText.setFont(new Font("Arial", Font.PLAIN, 14)); // Default font size
+        notepadText.setLineWrap(true);
+        notepadText.setWrapStyleWord(true);
+
+        JPanel controlPanel = new JPanel();
+        JButton increaseFontButton = new JButton("Size(+)");
+        JButton decreaseFontButton = new JButton("Size(-)");
+
+        increaseFontButton.addActionListener(e -> {
+            Font currentFont = notepadText.getFont();
+            notepadText.setFont(new Font(currentFont.getName(), currentFont.getStyle(), currentFont.getSize() + 1));
+        });
+
+        decreaseFontButton.addActionListener(e -> {
+            Font currentFont = notepadText.getFont();
+            if (currentFont.getSize() > 8) { // Minimum font size
+                notepadText.setFont(new Font(currentFont.getName(), currentFont.getStyle(), currentFont.getSize() - 1));
+            }
+        });
+
+        controlPanel.add(decreaseFontButton);
+        controlPanel.add(increaseFontButton);
+
+        notepadWindow.add(controlPanel, BorderLayout.NORTH);
+        notepadWindow.add(new JScrollPane(notepadText), BorderLayout.CENTER);
+
+        notepadWindow.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                runHidden(notepadHidden);
+            }
+        });
+        notepadWindow.addNotify();
+    }
+}
@@ -0,0 +1,339 @@
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Plays games headless across every scenario, suspect count, question strategy and player heuristic,
+// and reports how often each scenario's imposter gets caught compared to guessing.
+public class BalanceSimulator {
+    private static final int LEAF_GAMES = 4096;
+
+    public enum QuestionStrategy {
+        FIRST, RANDOM, LONGEST;
+
+        int pick(List<ScenarioDataReader.Question> questions, Random random) {
+            List<Integer> available = new ArrayList<>(questions.size());
+            for (int slot = 0; slot < questions.size(); slot++) {
+                if (questions.get(slot) != null) {
+                    available.add(slot);
+                }
+            }
+            if (available.isEmpty()) {
+                return -1;
+            }
+            switch (this) {
+                case RANDOM:
+                    return available.get(random.nextInt(available.size()));
+                case LONGEST:
+                    int longest = available.get(0);
+                    for (int slot : available) {
+                        if (questions.get(slot).text.length() > questions.get(longest).text.length()) {
+                            longest = slot;
+                        }
+                    }
+                    return longest;
+                default:
+                    return available.get(0);
+            }
+        }
+    }
+
+    public static final PlayerHeuristic RANDOM_GUESS = new PlayerHeuristic() {
+        @Override
+        public String getName() {
+            return "random";
+        }
+
+        @Override
+        public String accuse(ScenarioDataReader.Scenario scenario, List<String> suspects,
+                             Map<String, List<String>> testimony, Random random) {
+            return suspects.get(random.nextInt(suspects.size()));
+        }
+    };
+
+    // Accuses whoever hedged the most
+    public static final PlayerHeuristic HEDGING = new ScoringHeuristic("hedging") {
+        @Override
+        double score(String suspect, Map<String, List<String>> testimony) {
+            int hedges = 0;
+            for (String answer : testimony.get(suspect)) {
+                hedges += AnswerFeatures.hedgeCount(AnswerFeatures.normalize(answer));
+            }
+            return hedges;
+        }
+    };
+
+    // Accuses whoever's answers are furthest from the group's average length
+    public static final PlayerHeuristic LENGTH_OUTLIER = new ScoringHeuristic("length") {
+        @Override
+        double score(String suspect, Map<String, List<String>> testimony) {
+            double total = 0;
+            int count = 0;
+            for (List<String> answers : testimony.values()) {
+                for (String answer : answers) {
+                    total += answer.length();
+                    count++;
+                }
+            }
+            double mean = count == 0 ? 0 : total / count;
+            double deviation = 0;
+            for (String answer : testimony.get(suspect)) {
+                deviation += Math.abs(answer.length() - mean);
+            }
+            return deviation;
+        }
+    };
+
+    public static final List<PlayerHeuristic> DEFAULT_HEURISTICS = List.of(RANDOM_GUESS, HEDGING, LENGTH_OUTLIER);
+
+    // Highest score wins, ties are broken at random so a heuristic that can't tell never beats chance
+    abstract static class ScoringHeuristic implements PlayerHeuristic {
+        private final String name;
+
+        ScoringHeuristic(String name) {
+            this.name = name;
+        }
+
+        abstract double score(String suspect, Map<String, List<String>> testimony);
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String accuse(ScenarioDataReader.Scenario scenario, List<String> suspects,
+                             Map<String, List<String>> testimony, Random random) {
+            String best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            int ties = 0;
+            for (String suspect : suspects) {
+                double score = score(suspect, testimony);
+                if (score > bestScore) {
+                    best = suspect;
+                    bestScore = score;
+                    ties = 1;
+                } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                    best = suspect;
+                }
+            }
+            return best;
+        }
+    }
+
+    // One combination of settings, every cell gets the same number of games
+    public static class Cell {
+        public final ScenarioDataReader.Scenario scenario;
+        public final int suspects;
+        public final QuestionStrategy strategy;
+        public final PlayerHeuristic heuristic;
+
+        Cell(ScenarioDataReader.Scenario scenario, int suspects, QuestionStrategy strategy, PlayerHeuristic heuristic) {
+            this.scenario = scenario;
+            this.suspects = suspects;
+            this.strategy = strategy;
+            this.heuristic = heuristic;
+        }
+    }
+
+    private final ScenarioDataReader data;
+    private final List<String> characters;
+    private final List<Cell> cells = new ArrayList<>();
+
+    public BalanceSimulator(ScenarioDataReader data, List<String> characters, List<PlayerHeuristic> heuristics) {
+        this.data = data;
+        this.characters = new ArrayList<>(characters);
+        for (ScenarioDataReader.Scenario scenario : data.getScenarios()) {
+            if (scenario.questions.size() < GameEngine.ROUNDS * GameEngine.QUESTIONS_PER_ROUND) {
+                System.err.println("Skipping scenario " + scenario.id + ", it has only "
+                        + scenario.questions.size() + " questions");
+                continue;
+            }
+            for (int suspects = GameEngine.MIN_SUSPECTS; suspects <= GameEngine.MAX_SUSPECTS; suspects++) {
+                for (QuestionStrategy strategy : QuestionStrategy.values()) {
+                    for (PlayerHeuristic heuristic : heuristics) {
+                        cells.add(new Cell(scenario, suspects, strategy, heuristic));
+                    }
+                }
+            }
+        }
+    }
+
+    // Results only depend on the seed, not on how many cores split the work
+    public Result run(long gamesPerCell, long seed) {
+        long totalGames = gamesPerCell * cells.size();
+        long[] wins = ForkJoinPool.commonPool().invoke(new SimulationTask(gamesPerCell, seed, 0, totalGames));
+        return new Result(cells, gamesPerCell, wins);
+    }
+
+    private class SimulationTask extends RecursiveTask<long[]> {
+        private final long gamesPerCell;
+        private final long seed;
+        private final long from;
+        private final long to;
+
+        SimulationTask(long gamesPerCell, long seed, long from, long to) {
+            this.gamesPerCell = gamesPerCell;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= LEAF_GAMES) {
+                return play();
+            }
+            long middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(gamesPerCell, seed, from, middle);
+            left.fork();
+            long[] right = new SimulationTask(gamesPerCell, seed, middle, to).compute();
+            long[] merged = left.join();
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += right[i];
+            }
+            return merged;
+        }
+
+        private long[] play() {
+            long[] wins = new long[cells.size()];
+            Random random = new Random(seed * 0x9E3779B97F4A7C15L + from);
+            GameEngine engine = new GameEngine(data, characters, random);
+            TestimonyRecorder recorder = new TestimonyRecorder();
+            engine.addListener(recorder);
+
+            for (long game = from; game < to; game++) {
+                int index = (int) (game / gamesPerCell);
+                if (playGame(engine, recorder, cells.get(index), random)) {
+                    wins[index]++;
+                }
+            }
+            return wins;
+        }
+    }
+
+    private static boolean playGame(GameEngine engine, TestimonyRecorder recorder, Cell cell, Random random) {
+        engine.newGame(cell.scenario, cell.suspects);
+        for (int round = 0; round < GameEngine.ROUNDS; round++) {
+            engine.askQuestion(cell.strategy.pick(engine.getRoundQuestions(), random));
+            engine.answersHeard();
+            engine.nextRound();
+        }
+        String accused = cell.heuristic.accuse(cell.scenario, engine.getSuspects(), recorder.testimony, random);
+        return engine.accuse(accused);
+    }
+
+    private static class TestimonyRecorder implements GameListener {
+        final Map<String, List<String>> testimony = new HashMap<>();
+
+        @Override
+        public void gameStarted(ScenarioDataReader.Scenario scenario, List<String> suspects, String imposter) {
+            testimony.clear();
+            for (String suspect : suspects) {
+                testimony.put(suspect, new ArrayList<>(GameEngine.ROUNDS));
+            }
+        }
+
+        @Override
+        public void questionAsked(ScenarioDataReader.Question question, List<GameEngine.Testimony> testimonies) {
+            for (GameEngine.Testimony entry : testimonies) {
+                testimony.get(entry.character).add(entry.text);
+            }
+        }
+    }
+
+    public static class Result {
+        private final List<Cell> cells;
+        private final long gamesPerCell;
+        private final long[] wins;
+
+        Result(List<Cell> cells, long gamesPerCell, long[] wins) {
+            this.cells = cells;
+            this.gamesPerCell = gamesPerCell;
+            this.wins = wins;
+        }
+
+        public long getTotalGames() {
+            return gamesPerCell * cells.size();
+        }
+
+        public double winRate(int cell) {
+            return (double) wins[cell] / gamesPerCell;
+        }
+
+        // Win rate over what a blind guess would get, 1.0 means the heuristic learned nothing
+        public double lift(int cell) {
+            return winRate(cell) * cells.get(cell).suspects;
+        }
+
+        // One tab-separated line per cell, then each scenario's best heuristic across all settings
+        public String report() {
+            StringBuilder report = new StringBuilder(
+                    "scenario\tdifficulty\tsuspects\tquestions\theuristic\tgames\twin_rate\tci95\tchance\tlift\n");
+            for (int i = 0; i < cells.size(); i++) {
+                Cell cell = cells.get(i);
+                double rate = winRate(i);
+                report.append(cell.scenario.id).append('\t')
+                        .append(cell.scenario.difficulty).append('\t')
+                        .append(cell.suspects).append('\t')
+                        .append(cell.strategy.name().toLowerCase(Locale.ROOT)).append('\t')
+                        .append(cell.heuristic.getName()).append('\t')
+                        .append(gamesPerCell).append('\t')
+                        .append(format(rate)).append('\t')
+                        .append(format(1.96 * Math.sqrt(rate * (1 - rate) / gamesPerCell))).append('\t')
+                        .append(format(1.0 / cell.suspects)).append('\t')
+                        .append(format(lift(i))).append('\n');
+            }
+
+            report.append("\nscenario\tdifficulty\tbest_heuristic\tmean_win_rate\tmean_lift\n");
+            Map<ScenarioDataReader.Scenario, Map<String, double[]>> byScenario = new LinkedHashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                Cell cell = cells.get(i);
+                double[] sums = byScenario.computeIfAbsent(cell.scenario, s -> new LinkedHashMap<>())
+                        .computeIfAbsent(cell.heuristic.getName(), h -> new double[3]);
+                sums[0] += winRate(i);
+                sums[1] += lift(i);
+                sums[2]++;
+            }
+            for (Map.Entry<ScenarioDataReader.Scenario, Map<String, double[]>> entry : byScenario.entrySet()) {
+                String best = null;
+                double[] bestSums = null;
+                for (Map.Entry<String, double[]> heuristic : entry.getValue().entrySet()) {
+                    double[] sums = heuristic.getValue();
+                    if (bestSums == null || sums[1] > bestSums[1]) {
+                        best = heuristic.getKey();
+                        bestSums = sums;
+                    }
+                }
+                report.append(entry.getKey().id).append('\t')
+                        .append(entry.getKey().difficulty).append('\t')
+                        .append(best).append('\t')
+                        .append(format(bestSums[0] / bestSums[2])).append('\t')
+                        .append(format(bestSums[1] / bestSums[2])).append('\n');
+            }
+            return report.toString();
+        }
+
+        private static String format(double value) {
+            return String.format(Locale.ROOT, "%.4f", value);
+        }
+    }
+
+    // Usage: BalanceSimulator [games per cell] [seed]
+    public static void main(String[] args) {
+        long gamesPerCell = args.length > 0 ? Long.parseLong(args[0]) : 10_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+
+        ScenarioDataReader data = new ScenarioDataReader();
+        BalanceSimulator simulator = new BalanceSimulator(data,
+                new ArrayList<>(AssetManifest.getCharacters()), DEFAULT_HEURISTICS);
+
+        long start = System.nanoTime();
+        Result result = simulator.run(gamesPerCell, seed);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.print(result.report());
+        System.err.printf(Locale.ROOT, "Simulated %d games in %.2f s (%.0f games/s) on %d threads%n",
+                result.getTotalGames(), seconds, result.getTotalGames() / seconds,
+                ForkJoinPool.commonPool().getParallelism());
+    }
+}
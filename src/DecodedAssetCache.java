@@ -0,0 +1,179 @@
+import javax.imageio.ImageIO;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class DecodedAssetCache {
+    private static final int MAGIC = 0x42544C43; // "BTLC"
+    private static final int VERSION = 1;
+    private static final int IMAGE_HEADER_SIZE = 16;
+    private static final int SAMPLES_HEADER_SIZE = 12;
+
+    // Lives next to the app, entries are named after the SHA-256 of the source file so edited assets miss
+    private static final Path CACHE_DIR = Paths.get(System.getProperty("btl.cache.dir", "asset-cache"));
+    private static final boolean ENABLED = !Boolean.getBoolean("btl.cache.disabled");
+    private static volatile boolean writeFailureReported = false;
+
+    public interface SampleDecoder {
+        short[] decode(InputStream source) throws IOException, UnsupportedAudioFileException;
+    }
+
+    private DecodedAssetCache() {
+    }
+
+    public static BufferedImage readImage(URL url) throws IOException {
+        ByteBuffer source = ResourceAccess.read(url);
+        Path file = ENABLED ? CACHE_DIR.resolve(hash(source) + ".argb") : null;
+
+        if (file != null) {
+            BufferedImage cached = mapImage(file);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        BufferedImage decoded = ImageIO.read(ResourceAccess.asStream(source));
+        if (decoded == null) {
+            throw new IOException("Unsupported image format: " + url);
+        }
+        BufferedImage argb = toArgb(decoded);
+        if (file != null) {
+            writeImage(file, argb);
+        }
+        return argb;
+    }
+
+    public static short[] readSamples(URL url, SampleDecoder decoder) throws IOException, UnsupportedAudioFileException {
+        ByteBuffer source = ResourceAccess.read(url);
+        Path file = ENABLED ? CACHE_DIR.resolve(hash(source) + ".pcm") : null;
+
+        if (file != null) {
+            short[] cached = mapSamples(file);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        short[] samples = decoder.decode(ResourceAccess.asStream(source));
+        if (file != null) {
+            writeSamples(file, samples);
+        }
+        return samples;
+    }
+
+    private static BufferedImage mapImage(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < IMAGE_HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            if (width <= 0 || height <= 0 || buffer.remaining() != width * height * 4) {
+                return null;
+            }
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            buffer.asIntBuffer().get(pixels);
+            return image;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static short[] mapSamples(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < SAMPLES_HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            int count = buffer.getInt();
+            if (count < 0 || buffer.remaining() != count * 2) {
+                return null;
+            }
+            short[] samples = new short[count];
+            buffer.asShortBuffer().get(samples);
+            return samples;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void writeImage(Path file, BufferedImage image) {
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        ByteBuffer buffer = ByteBuffer.allocate(IMAGE_HEADER_SIZE + pixels.length * 4);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(image.getWidth()).putInt(image.getHeight());
+        buffer.asIntBuffer().put(pixels);
+        write(file, buffer);
+    }
+
+    private static void writeSamples(Path file, short[] samples) {
+        ByteBuffer buffer = ByteBuffer.allocate(SAMPLES_HEADER_SIZE + samples.length * 2);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(samples.length);
+        buffer.asShortBuffer().put(samples);
+        write(file, buffer);
+    }
+
+    // Written to a temp file and moved into place, so a crash never leaves a half-written entry
+    private static void write(Path file, ByteBuffer buffer) {
+        try {
+            Files.createDirectories(CACHE_DIR);
+            Path temp = Files.createTempFile(CACHE_DIR, "entry", ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                buffer.rewind();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (!writeFailureReported) {
+                writeFailureReported = true;
+                System.err.println("Asset cache not writable, decoding from source: " + e.getMessage());
+            }
+        }
+    }
+
+    private static BufferedImage toArgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB) {
+            return image;
+        }
+        BufferedImage argb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = argb.createGraphics();
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+        return argb;
+    }
+
+    // Hashes the mapped source in place, a cache hit never copies it onto the heap
+    private static String hash(ByteBuffer data) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(data.duplicate());
+            byte[] digest = sha.digest();
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+import java.awt.EventQueue;
+
+public class EdtWatchdog implements Runnable {
+    private static final long DEFAULT_THRESHOLD_MS = 250;
+    private static final long POLL_DIVISOR = 4; // check this many times per threshold
+
+    private static EdtWatchdog instance;
+
+    private final long thresholdNanos;
+    private final long pollMillis;
+    private volatile Thread edtThread;
+    private volatile long lastHeartbeat = System.nanoTime();
+    private volatile boolean heartbeatPending = false;
+
+    private EdtWatchdog(long thresholdMs) {
+        this.thresholdNanos = thresholdMs * 1_000_000L;
+        this.pollMillis = Math.max(10, thresholdMs / POLL_DIVISOR);
+    }
+
+    // Threshold comes from -Dbtl.edt.threshold=<ms>, 0 disables the watchdog
+    public static synchronized void start() {
+        if (instance != null) {
+            return;
+        }
+        long thresholdMs = Long.getLong("btl.edt.threshold", DEFAULT_THRESHOLD_MS);
+        if (thresholdMs <= 0) {
+            return;
+        }
+        instance = new EdtWatchdog(thresholdMs);
+        Thread thread = new Thread(instance, "EDT Watchdog");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        boolean stalled = false;
+        long stallStart = 0;
+
+        while (true) {
+            if (!heartbeatPending) {
+                heartbeatPending = true;
+                EventQueue.invokeLater(() -> {
+                    edtThread = Thread.currentThread();
+                    lastHeartbeat = System.nanoTime();
+                    heartbeatPending = false;
+                });
+            }
+
+            try {
+                Thread.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            long now = System.nanoTime();
+            long sinceHeartbeat = now - lastHeartbeat;
+            if (heartbeatPending && sinceHeartbeat > thresholdNanos) {
+                if (!stalled) {
+                    stalled = true;
+                    stallStart = lastHeartbeat;
+                    logStall(sinceHeartbeat);
+                }
+            } else if (stalled) {
+                stalled = false;
+                System.err.println("[EDT Watchdog] EDT recovered after " + (lastHeartbeat - stallStart) / 1_000_000L + " ms");
+            }
+        }
+    }
+
+    private void logStall(long stalledNanos) {
+        Thread edt = edtThread;
+        StringBuilder report = new StringBuilder();
+        report.append("[EDT Watchdog] EDT has not processed events for ")
+                .append(stalledNanos / 1_000_000L).append(" ms");
+        if (edt == null) {
+            report.append(" (EDT not started yet)");
+        } else {
+            report.append(", stack of ").append(edt.getName()).append(':');
+            for (StackTraceElement element : edt.getStackTrace()) {
+                report.append(System.lineSeparator()).append("\tat ").append(element);
+            }
+        }
+        System.err.println(report);
+    }
+}
@@ -0,0 +1,307 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+// The rules of a game with no Swing, timers or sound, so it can also run headless.
+// Not thread safe, each game is driven from a single thread.
+public class GameEngine {
+    public static final int ROUNDS = 3;
+    public static final int QUESTIONS_PER_ROUND = 3;
+    public static final int MIN_SUSPECTS = 3;
+    public static final int MAX_SUSPECTS = 5;
+
+    public enum State {
+        NOT_STARTED, ASKING, ANSWERING, ROUND_OVER, ACCUSING, FINISHED
+    }
+
+    public static class Testimony {
+        public final String character;
+        public final String text;
+
+        Testimony(String character, String text) {
+            this.character = character;
+            this.text = text;
+        }
+    }
+
+    private final ScenarioDataReader data;
+    private final List<String> characters;
+    private final Random random;
+    private final List<GameListener> listeners = new ArrayList<>();
+
+    private State state = State.NOT_STARTED;
+    private long seed;
+    private String difficulty;
+    private int requestedSuspects;
+    private ScenarioDataReader.Scenario scenario;
+    private List<String> suspects = Collections.emptyList();
+    private String imposter;
+    private int round;
+    private ScenarioDataReader.Question currentQuestion;
+    private final List<ScenarioDataReader.Question> askedQuestions = new ArrayList<>();
+    private String accused;
+
+    public GameEngine(ScenarioDataReader data, List<String> characters, Random random) {
+        this.data = data;
+        this.characters = new ArrayList<>(characters);
+        this.random = random;
+    }
+
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Everything random in the game comes from the seed, so the same seed and inputs replay the same game
+    public boolean newGame(long seed, String difficulty, int suspectCount) {
+        // Checked first so a difficulty without scenarios doesn't reseed the running game
+        if (!data.hasScenarios(difficulty)) {
+            return false;
+        }
+        random.setSeed(seed);
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.requestedSuspects = suspectCount;
+        return newGame(difficulty, suspectCount);
+    }
+
+    // Returns false if there is no scenario for the difficulty, the engine is then left as it was
+    public boolean newGame(String difficulty, int suspectCount) {
+        ScenarioDataReader.Scenario next = data.getRandomScenario(difficulty, random);
+        if (next == null) {
+            return false;
+        }
+        newGame(next, suspectCount);
+        return true;
+    }
+
+    public void newGame(ScenarioDataReader.Scenario next, int suspectCount) {
+        List<String> lineup = new ArrayList<>(characters);
+        Collections.shuffle(lineup, random);
+        int count = Math.min(Math.max(MIN_SUSPECTS, suspectCount), Math.min(MAX_SUSPECTS, lineup.size()));
+
+        scenario = next;
+        suspects = Collections.unmodifiableList(new ArrayList<>(lineup.subList(0, count)));
+        imposter = suspects.get(random.nextInt(suspects.size()));
+        round = 1;
+        currentQuestion = null;
+        askedQuestions.clear();
+        accused = null;
+        state = State.ASKING;
+
+        for (GameListener listener : listeners) {
+            listener.gameStarted(scenario, suspects, imposter);
+        }
+        fireRoundStarted();
+    }
+
+    public void askQuestion(int slot) {
+        requireState(State.ASKING);
+        ScenarioDataReader.Question question = questionAt(round, slot);
+        if (question == null) {
+            throw new IllegalArgumentException("No question in slot " + slot + " of round " + round);
+        }
+
+        currentQuestion = question;
+        askedQuestions.add(question);
+        List<Testimony> testimonies = getTestimonies(question);
+        state = State.ANSWERING;
+
+        for (GameListener listener : listeners) {
+            listener.questionAsked(question, testimonies);
+        }
+    }
+
+    // Called once every answer has been shown or heard
+    public void answersHeard() {
+        requireState(State.ANSWERING);
+        state = State.ROUND_OVER;
+        for (GameListener listener : listeners) {
+            listener.roundFinished(round);
+        }
+    }
+
+    public void nextRound() {
+        requireState(State.ROUND_OVER);
+        currentQuestion = null;
+        if (round < ROUNDS) {
+            round++;
+            state = State.ASKING;
+            fireRoundStarted();
+        } else {
+            state = State.ACCUSING;
+            for (GameListener listener : listeners) {
+                listener.accusationStarted();
+            }
+        }
+    }
+
+    public boolean accuse(String suspect) {
+        requireState(State.ACCUSING);
+        if (!suspects.contains(suspect)) {
+            throw new IllegalArgumentException("Not a suspect: " + suspect);
+        }
+
+        accused = suspect;
+        state = State.FINISHED;
+        boolean won = suspect.equals(imposter);
+        for (GameListener listener : listeners) {
+            listener.gameOver(won, suspect, imposter);
+        }
+        return won;
+    }
+
+    // Captures the game between inputs, see resume
+    public SessionSnapshot snapshot() {
+        int[] asked = new int[askedQuestions.size()];
+        for (int i = 0; i < asked.length; i++) {
+            asked[i] = scenario.questions.indexOf(askedQuestions.get(i));
+        }
+        return new SessionSnapshot(seed, difficulty, requestedSuspects, scenario.id, suspects,
+                suspects.indexOf(imposter), round, state, asked);
+    }
+
+    // Picks a saved game back up where it was. Only the states a game rests in between inputs can be resumed.
+    // Returns false, leaving the engine as it was, if the save doesn't fit the scenario data or characters.
+    public boolean resume(SessionSnapshot snapshot) {
+        ScenarioDataReader.Scenario saved = data.getScenario(snapshot.scenarioId);
+        if (saved == null
+                || (snapshot.state != State.ASKING && snapshot.state != State.ROUND_OVER && snapshot.state != State.ACCUSING)
+                || snapshot.round < 1 || snapshot.round > ROUNDS
+                || snapshot.suspects.isEmpty() || !characters.containsAll(snapshot.suspects)
+                || snapshot.imposterIndex >= snapshot.suspects.size()
+                || snapshot.askedQuestions.length != (snapshot.state == State.ASKING ? snapshot.round - 1 : snapshot.round)) {
+            return false;
+        }
+        List<ScenarioDataReader.Question> asked = new ArrayList<>();
+        for (int index : snapshot.askedQuestions) {
+            if (index >= saved.questions.size()) {
+                return false;
+            }
+            asked.add(saved.questions.get(index));
+        }
+
+        random.setSeed(snapshot.seed);
+        seed = snapshot.seed;
+        difficulty = snapshot.difficulty;
+        requestedSuspects = snapshot.requestedSuspects;
+        scenario = saved;
+        suspects = snapshot.suspects;
+        imposter = suspects.get(snapshot.imposterIndex);
+        round = snapshot.round;
+        askedQuestions.clear();
+        askedQuestions.addAll(asked);
+        currentQuestion = snapshot.state == State.ROUND_OVER ? asked.get(asked.size() - 1) : null;
+        accused = null;
+        state = snapshot.state;
+
+        for (GameListener listener : listeners) {
+            listener.gameResumed(scenario, suspects, imposter);
+        }
+        return true;
+    }
+
+    public List<Testimony> getTestimonies(ScenarioDataReader.Question question) {
+        List<Testimony> testimonies = new ArrayList<>(suspects.size());
+        for (String suspect : suspects) {
+            String answer = findAnswer(question, suspect);
+            if (answer != null) {
+                testimonies.add(new Testimony(suspect, answer));
+            }
+        }
+        return testimonies;
+    }
+
+    public String findAnswer(ScenarioDataReader.Question question, String character) {
+        for (ScenarioDataReader.Answer answer : question.answers) {
+            if (answer.character.equalsIgnoreCase(character)) {
+                return character.equalsIgnoreCase(imposter)
+                        ? answer.guiltyResponse
+                        : answer.innocentResponse;
+            }
+        }
+        return null;
+    }
+
+    public List<ScenarioDataReader.Question> getRoundQuestions() {
+        List<ScenarioDataReader.Question> questions = new ArrayList<>(QUESTIONS_PER_ROUND);
+        for (int slot = 0; slot < QUESTIONS_PER_ROUND; slot++) {
+            questions.add(questionAt(round, slot));
+        }
+        return questions;
+    }
+
+    private ScenarioDataReader.Question questionAt(int round, int slot) {
+        int index = (round - 1) * QUESTIONS_PER_ROUND + slot;
+        if (slot < 0 || slot >= QUESTIONS_PER_ROUND || index >= scenario.questions.size()) {
+            return null;
+        }
+        return scenario.questions.get(index);
+    }
+
+    private void fireRoundStarted() {
+        List<ScenarioDataReader.Question> questions = getRoundQuestions();
+        for (GameListener listener : listeners) {
+            listener.roundStarted(round, questions);
+        }
+    }
+
+    private void requireState(State expected) {
+        if (state != expected) {
+            throw new IllegalStateException("Expected " + expected + " but game is " + state);
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public int getRequestedSuspects() {
+        return requestedSuspects;
+    }
+
+    public List<String> getCharacters() {
+        return Collections.unmodifiableList(characters);
+    }
+
+    public ScenarioDataReader.Scenario getScenario() {
+        return scenario;
+    }
+
+    public List<String> getSuspects() {
+        return suspects;
+    }
+
+    public String getImposter() {
+        return imposter;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public ScenarioDataReader.Question getCurrentQuestion() {
+        return currentQuestion;
+    }
+
+    // Every question asked so far this game, in order
+    public List<ScenarioDataReader.Question> getAskedQuestions() {
+        return Collections.unmodifiableList(askedQuestions);
+    }
+
+    public String getAccused() {
+        return accused;
+    }
+}
@@ -0,0 +1,28 @@
+import java.util.List;
+
+// Everything the engine reports, the Swing scene turns these into animations, text and sound
+public interface GameListener {
+    default void gameStarted(ScenarioDataReader.Scenario scenario, List<String> suspects, String imposter) {
+    }
+
+    // Slots without a question for this round are null
+    default void roundStarted(int round, List<ScenarioDataReader.Question> questions) {
+    }
+
+    // Testimonies come in lineup order, left to right
+    default void questionAsked(ScenarioDataReader.Question question, List<GameEngine.Testimony> testimonies) {
+    }
+
+    default void roundFinished(int round) {
+    }
+
+    default void accusationStarted() {
+    }
+
+    // A saved game was picked back up, the engine's getters describe where it stands
+    default void gameResumed(ScenarioDataReader.Scenario scenario, List<String> suspects, String imposter) {
+    }
+
+    default void gameOver(boolean won, String accused, String imposter) {
+    }
+}
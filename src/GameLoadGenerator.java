@@ -0,0 +1,204 @@
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Opens many GameServer sessions at once and plays random games on all of them. Every session also
+// runs the same seeded game on a local GameEngine and checks the server sends exactly what that engine
+// produced, so one session leaking into another shows up as a mismatch rather than a quiet wrong answer.
+public class GameLoadGenerator {
+    private final ScenarioDataReader data;
+    private final InetAddress host;
+    private final int port;
+    private final List<String> difficulties;
+
+    private final LongAdder gamesPlayed = new LongAdder();
+    private final LongAdder mismatches = new LongAdder();
+    private final LongAdder failedSessions = new LongAdder();
+    private final AtomicLong problemsReported = new AtomicLong();
+    private final List<long[]> latencies = Collections.synchronizedList(new ArrayList<>());
+
+    public GameLoadGenerator(ScenarioDataReader data, InetAddress host, int port) {
+        this.data = data;
+        this.host = host;
+        this.port = port;
+        Set<String> levels = new TreeSet<>();
+        for (ScenarioDataReader.Scenario scenario : data.getScenarios()) {
+            levels.add(scenario.difficulty);
+        }
+        this.difficulties = new ArrayList<>(levels);
+    }
+
+    // Connects every session before any of them starts playing, so they really are all open at once.
+    // Returns the seconds spent playing, connecting not included.
+    public double run(int sessionCount, int gamesPerSession, long seed) throws InterruptedException {
+        CountDownLatch connected = new CountDownLatch(sessionCount);
+        CountDownLatch go = new CountDownLatch(1);
+        long start;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sessionCount; i++) {
+                long sessionSeed = seed + i;
+                clients.execute(() -> {
+                    try {
+                        playSession(sessionSeed, gamesPerSession, connected, go);
+                    } catch (IOException | RuntimeException e) {
+                        failedSessions.increment();
+                        if (problemsReported.getAndIncrement() == 0) {
+                            System.err.println("Session " + Long.toHexString(sessionSeed) + " failed: " + e);
+                        }
+                    }
+                });
+            }
+            if (!connected.await(2, TimeUnit.MINUTES)) {
+                System.err.println("Not every session connected in time");
+            }
+            System.err.println(sessionCount + " sessions connected");
+            start = System.nanoTime();
+            go.countDown();
+        }
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    private void playSession(long sessionSeed, int games, CountDownLatch connected, CountDownLatch go)
+            throws IOException {
+        Random random = new Random(sessionSeed);
+        long[] sessionLatencies = new long[games * (GameEngine.ROUNDS * 3 + 2)];
+        int commands = 0;
+        boolean counted = false;
+
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+
+            String hello = in.readLine();
+            if (hello == null || !hello.startsWith("HELLO\t" + GameServer.PROTOCOL_VERSION + "\t")) {
+                throw new IOException("Unexpected greeting " + hello);
+            }
+            List<String> characters = Arrays.asList(hello.substring(hello.indexOf('\t', 6) + 1).split("\t"));
+            StringBuilder expected = new StringBuilder();
+            GameEngine mirror = new GameEngine(data, characters, new Random());
+            mirror.addListener(new GameServer.EventWriter(mirror, expected));
+
+            connected.countDown();
+            counted = true;
+            go.await();
+
+            for (int game = 0; game < games; game++) {
+                long gameSeed = random.nextLong();
+                String difficulty = difficulties.get(random.nextInt(difficulties.size()));
+                int suspects = GameEngine.MIN_SUSPECTS + random.nextInt(GameEngine.MAX_SUSPECTS - GameEngine.MIN_SUSPECTS + 1);
+
+                mirror.newGame(gameSeed, difficulty, suspects);
+                sessionLatencies[commands++] = exchange(in, out, expected,
+                        "NEW\t" + difficulty + "\t" + suspects + "\t" + Long.toHexString(gameSeed));
+                while (mirror.getState() != GameEngine.State.ACCUSING) {
+                    List<ScenarioDataReader.Question> questions = mirror.getRoundQuestions();
+                    int slot;
+                    do {
+                        slot = random.nextInt(questions.size());
+                    } while (questions.get(slot) == null);
+
+                    mirror.askQuestion(slot);
+                    sessionLatencies[commands++] = exchange(in, out, expected, "ASK\t" + slot);
+                    mirror.answersHeard();
+                    sessionLatencies[commands++] = exchange(in, out, expected, "HEARD");
+                    mirror.nextRound();
+                    sessionLatencies[commands++] = exchange(in, out, expected, "NEXT");
+                }
+                String accused = mirror.getSuspects().get(random.nextInt(mirror.getSuspects().size()));
+                mirror.accuse(accused);
+                sessionLatencies[commands++] = exchange(in, out, expected, "ACCUSE\t" + accused);
+                gamesPlayed.increment();
+            }
+            out.write("QUIT\n");
+            out.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!counted) {
+                connected.countDown();
+            }
+            latencies.add(Arrays.copyOf(sessionLatencies, commands));
+        }
+    }
+
+    // Sends one command and checks the reply line for line against what the mirror engine produced
+    private long exchange(BufferedReader in, Writer out, StringBuilder expected, String command) throws IOException {
+        long start = System.nanoTime();
+        out.write(command);
+        out.write('\n');
+        out.flush();
+
+        int from = 0;
+        while (from < expected.length()) {
+            int end = expected.indexOf("\n", from);
+            String line = in.readLine();
+            if (line == null) {
+                throw new EOFException("Server closed the session after " + command);
+            }
+            if (!expected.substring(from, end).equals(line)) {
+                mismatches.increment();
+                if (problemsReported.getAndIncrement() == 0) {
+                    System.err.println("Mismatch after " + command + ":\n  expected " + expected.substring(from, end)
+                            + "\n  received " + line);
+                }
+            }
+            from = end + 1;
+        }
+        expected.setLength(0);
+        return System.nanoTime() - start;
+    }
+
+    public String report(double seconds) {
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "%d games, %d commands in %.2f s (%.0f commands/s)%n",
+                gamesPlayed.sum(), all.length, seconds, all.length / seconds));
+        if (all.length > 0) {
+            report.append(String.format(Locale.ROOT, "latency ms: p50 %.2f, p99 %.2f, max %.2f%n",
+                    all[all.length / 2] / 1e6, all[(int) (all.length * 0.99)] / 1e6, all[all.length - 1] / 1e6));
+        }
+        report.append(String.format(Locale.ROOT, "%d mismatched lines, %d failed sessions%n",
+                mismatches.sum(), failedSessions.sum()));
+        return report.toString();
+    }
+
+    public boolean passed() {
+        return mismatches.sum() == 0 && failedSessions.sum() == 0;
+    }
+
+    // Usage: GameLoadGenerator [sessions] [games per session] [port] [seed].
+    // Without a port a server is started in this process on a free port.
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+        ScenarioDataReader data = new ScenarioDataReader();
+        GameServer server = null;
+        int port;
+        if (args.length > 2) {
+            port = Integer.parseInt(args[2]);
+        } else {
+            server = new GameServer(data, new ArrayList<>(AssetManifest.getCharacters()), 0).start();
+            port = server.getPort();
+        }
+
+        GameLoadGenerator generator = new GameLoadGenerator(data, InetAddress.getLoopbackAddress(), port);
+        double seconds = generator.run(sessions, games, seed);
+
+        System.out.print(generator.report(seconds));
+        if (server != null) {
+            server.close();
+        }
+        System.exit(generator.passed() ? 0 : 1);
+    }
+}
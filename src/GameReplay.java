@@ -0,0 +1,148 @@
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Plays a ReplayLog back through a fresh GameEngine, headless and as fast or as slow as asked
+public class GameReplay {
+    private final long seed;
+    private final String difficulty;
+    private final int suspectCount;
+    private final List<String> characters;
+    private final String scenarioId;
+    private final List<int[]> inputs;
+
+    private GameReplay(long seed, String difficulty, int suspectCount, List<String> characters,
+                       String scenarioId, List<int[]> inputs) {
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.suspectCount = suspectCount;
+        this.characters = characters;
+        this.scenarioId = scenarioId;
+        this.inputs = inputs;
+    }
+
+    // Reads up to the last complete input, so a log cut short by a crash still replays
+    public static GameReplay read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != ReplayLog.MAGIC || in.readUnsignedByte() != ReplayLog.VERSION) {
+                throw new IOException("Not a replay log: " + file);
+            }
+            long seed = in.readLong();
+            String difficulty = in.readUTF();
+            int suspectCount = in.readUnsignedByte();
+            int characterCount = in.readUnsignedByte();
+            List<String> characters = new ArrayList<>(characterCount);
+            for (int i = 0; i < characterCount; i++) {
+                characters.add(in.readUTF());
+            }
+            String scenarioId = in.readUTF();
+
+            List<int[]> inputs = new ArrayList<>();
+            while (true) {
+                int opcode = in.read();
+                if (opcode < 0) {
+                    break;
+                }
+                try {
+                    int delayMillis = ReplayLog.readVarInt(in);
+                    int argument = in.readUnsignedByte();
+                    inputs.add(new int[]{opcode, delayMillis, argument});
+                } catch (EOFException e) {
+                    break;
+                }
+            }
+            return new GameReplay(seed, difficulty, suspectCount, characters, scenarioId, inputs);
+        }
+    }
+
+    // speed scales the recorded pauses between inputs, 0 replays instantly
+    public GameEngine play(ScenarioDataReader data, double speed, GameListener... listeners)
+            throws IOException, InterruptedException {
+        GameEngine engine = new GameEngine(data, characters, new Random());
+        for (GameListener listener : listeners) {
+            engine.addListener(listener);
+        }
+        if (!engine.newGame(seed, difficulty, suspectCount) || !engine.getScenario().id.equals(scenarioId)) {
+            throw new IOException("Replay was recorded against different scenario data (expected " + scenarioId + ")");
+        }
+
+        for (int[] input : inputs) {
+            if (speed > 0 && input[1] > 0) {
+                Thread.sleep((long) (input[1] / speed));
+            }
+            switch (input[0]) {
+                case ReplayLog.ASK:
+                    engine.askQuestion(input[2]);
+                    break;
+                case ReplayLog.ANSWERS_HEARD:
+                    engine.answersHeard();
+                    break;
+                case ReplayLog.NEXT_ROUND:
+                    engine.nextRound();
+                    break;
+                case ReplayLog.ACCUSE:
+                    engine.accuse(engine.getSuspects().get(input[2]));
+                    break;
+                default:
+                    throw new IOException("Unknown replay input " + input[0]);
+            }
+        }
+        return engine;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getInputCount() {
+        return inputs.size();
+    }
+
+    // Prints what happened in the game, for reading bug reports
+    private static class Transcript implements GameListener {
+        @Override
+        public void gameStarted(ScenarioDataReader.Scenario scenario, List<String> suspects, String imposter) {
+            System.out.println("Scenario " + scenario.id + ": " + scenario.description);
+            System.out.println("Suspects " + suspects + ", imposter " + imposter);
+        }
+
+        @Override
+        public void roundStarted(int round, List<ScenarioDataReader.Question> questions) {
+            System.out.println("Round " + round);
+        }
+
+        @Override
+        public void questionAsked(ScenarioDataReader.Question question, List<GameEngine.Testimony> testimonies) {
+            System.out.println("  Q: " + question.text);
+            for (GameEngine.Testimony testimony : testimonies) {
+                System.out.println("    " + testimony.character + ": " + testimony.text);
+            }
+        }
+
+        @Override
+        public void accusationStarted() {
+            System.out.println("Accusation");
+        }
+
+        @Override
+        public void gameOver(boolean won, String accused, String imposter) {
+            System.out.println((won ? "WON" : "LOST") + ", accused " + accused + ", imposter was " + imposter);
+        }
+    }
+
+    // Usage: GameReplay <replay file> [speed], speed 1 is real time and 0 (the default) as fast as possible
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: GameReplay <replay file> [speed]");
+            System.exit(2);
+        }
+        GameReplay replay = read(Paths.get(args[0]));
+        double speed = args.length > 1 ? Double.parseDouble(args[1]) : 0;
+        System.out.println("Seed " + Long.toHexString(replay.getSeed()) + ", " + replay.getInputCount() + " inputs");
+        replay.play(new ScenarioDataReader(), speed, new Transcript());
+    }
+}
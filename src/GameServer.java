@@ -0,0 +1,272 @@
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Hosts headless games for local clients, one virtual thread and one GameEngine per connection.
+// All sessions share a single read-only ScenarioDataReader, nothing else is shared between them.
+//
+// The protocol is UTF-8 lines of tab separated fields. Client to server:
+//   NEW <difficulty> <suspects> [hex seed]    ASK <slot>    HEARD    NEXT    ACCUSE <suspect>    QUIT
+// Server to client, in the order the game produces them:
+//   HELLO <version> <characters...>
+//   GAME <hex seed> <scenario id> <description> <suspects...>
+//   ROUND <round> <question...>           (three questions, empty for a missing one)
+//   ANSWERS <question> <count>, then count lines of ANSWER <character> <text>
+//   ROUND_OVER <round>    ACCUSING    RESULT <WON|LOST> <accused> <imposter>
+//   ERR <message>         (the session carries on, the game is left as it was)
+public class GameServer implements Closeable {
+    static final int PROTOCOL_VERSION = 1;
+    static final int DEFAULT_PORT = Integer.getInteger("btl.server.port", 7464);
+    private static final int IDLE_TIMEOUT_MS = Integer.getInteger("btl.server.idle.ms", 10 * 60 * 1000);
+    private static final int ACCEPT_BACKLOG = 4096;
+
+    private final ScenarioDataReader data;
+    private final List<String> characters;
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final LongAdder totalSessions = new LongAdder();
+    private final LongAdder gamesFinished = new LongAdder();
+
+    // Port 0 picks a free port, see getPort
+    public GameServer(ScenarioDataReader data, List<String> characters, int port) throws IOException {
+        this.data = data;
+        this.characters = List.copyOf(characters);
+        this.serverSocket = new ServerSocket(port, ACCEPT_BACKLOG, InetAddress.getLoopbackAddress());
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    // Accepts on a background thread and returns straight away
+    public GameServer start() {
+        Thread.ofPlatform().name("GameServer-accept").daemon(true).start(this::serve);
+        return this;
+    }
+
+    // Accepts connections on the calling thread until the server is closed
+    public void serve() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                sessions.execute(new Session(socket));
+            } catch (SocketException e) {
+                // Closed while waiting in accept
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+    }
+
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    public long getTotalSessions() {
+        return totalSessions.sum();
+    }
+
+    public long getGamesFinished() {
+        return gamesFinished.sum();
+    }
+
+    // Everything a session touches is its own, so sessions never need to lock
+    private class Session implements Runnable {
+        private final Socket socket;
+        private final GameEngine engine;
+
+        Session(Socket socket) {
+            this.socket = socket;
+            this.engine = new GameEngine(data, characters, new Random());
+        }
+
+        @Override
+        public void run() {
+            activeSessions.incrementAndGet();
+            totalSessions.increment();
+            try (Socket s = socket) {
+                s.setSoTimeout(IDLE_TIMEOUT_MS);
+                s.setTcpNoDelay(true);
+                BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter out = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8));
+                EventWriter events = new EventWriter(engine, out);
+                engine.addListener(events);
+
+                events.hello(characters);
+                out.flush();
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (!handle(line.split("\t"), events)) {
+                        break;
+                    }
+                    // Everything a command produced goes out in one write
+                    out.flush();
+                }
+            } catch (SocketTimeoutException e) {
+                // Idle client, drop the session
+            } catch (IOException | UncheckedIOException e) {
+                // Client went away
+            } finally {
+                activeSessions.decrementAndGet();
+            }
+        }
+
+        private boolean handle(String[] command, EventWriter events) {
+            try {
+                switch (command[0]) {
+                    case "NEW":
+                        long seed = command.length > 3
+                                ? Long.parseUnsignedLong(command[3], 16)
+                                : ThreadLocalRandom.current().nextLong();
+                        if (!engine.newGame(seed, argument(command, 1), Integer.parseInt(argument(command, 2)))) {
+                            events.send("ERR", "No scenario for difficulty " + command[1]);
+                        }
+                        break;
+                    case "ASK":
+                        engine.askQuestion(Integer.parseInt(argument(command, 1)));
+                        break;
+                    case "HEARD":
+                        engine.answersHeard();
+                        break;
+                    case "NEXT":
+                        engine.nextRound();
+                        break;
+                    case "ACCUSE":
+                        engine.accuse(argument(command, 1));
+                        gamesFinished.increment();
+                        break;
+                    case "QUIT":
+                        return false;
+                    default:
+                        events.send("ERR", "Unknown command " + command[0]);
+                }
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                // NumberFormatException included
+                events.send("ERR", String.valueOf(e.getMessage()));
+            }
+            return true;
+        }
+
+        private String argument(String[] command, int index) {
+            if (index >= command.length) {
+                throw new IllegalArgumentException(command[0] + " is missing argument " + index);
+            }
+            return command[index];
+        }
+    }
+
+    // Turns game events into protocol lines. The load generator runs one against its own engine
+    // to know exactly what the server should send back.
+    static class EventWriter implements GameListener {
+        private final GameEngine engine;
+        private final Appendable out;
+
+        EventWriter(GameEngine engine, Appendable out) {
+            this.engine = engine;
+            this.out = out;
+        }
+
+        void hello(List<String> characters) {
+            List<String> fields = new ArrayList<>();
+            fields.add(String.valueOf(PROTOCOL_VERSION));
+            fields.addAll(characters);
+            send("HELLO", fields.toArray(new String[0]));
+        }
+
+        @Override
+        public void gameStarted(ScenarioDataReader.Scenario scenario, List<String> suspects, String imposter) {
+            List<String> fields = new ArrayList<>();
+            fields.add(Long.toHexString(engine.getSeed()));
+            fields.add(scenario.id);
+            fields.add(scenario.description);
+            fields.addAll(suspects);
+            send("GAME", fields.toArray(new String[0]));
+        }
+
+        @Override
+        public void roundStarted(int round, List<ScenarioDataReader.Question> questions) {
+            String[] fields = new String[questions.size() + 1];
+            fields[0] = String.valueOf(round);
+            for (int i = 0; i < questions.size(); i++) {
+                ScenarioDataReader.Question question = questions.get(i);
+                fields[i + 1] = question != null ? question.text : "";
+            }
+            send("ROUND", fields);
+        }
+
+        @Override
+        public void questionAsked(ScenarioDataReader.Question question, List<GameEngine.Testimony> testimonies) {
+            send("ANSWERS", question.text, String.valueOf(testimonies.size()));
+            for (GameEngine.Testimony testimony : testimonies) {
+                send("ANSWER", testimony.character, testimony.text);
+            }
+        }
+
+        @Override
+        public void roundFinished(int round) {
+            send("ROUND_OVER", String.valueOf(round));
+        }
+
+        @Override
+        public void accusationStarted() {
+            send("ACCUSING");
+        }
+
+        @Override
+        public void gameOver(boolean won, String accused, String imposter) {
+            send("RESULT", won ? "WON" : "LOST", accused, imposter);
+        }
+
+        void send(String kind, String... fields) {
+            try {
+                out.append(kind);
+                for (String field : fields) {
+                    out.append('\t');
+                    out.append(field.replace('\t', ' ').replace('\n', ' ').replace('\r', ' '));
+                }
+                out.append('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Usage: GameServer [port]
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        ScenarioDataReader data = new ScenarioDataReader();
+        GameServer server = new GameServer(data, new ArrayList<>(AssetManifest.getCharacters()), port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException ignored) {
+            }
+            System.err.println("Served " + server.getTotalSessions() + " sessions, "
+                    + server.getGamesFinished() + " games");
+        }));
+        System.err.println("Game server on " + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getPort()
+                + ", " + data.getScenarios().size() + " scenarios");
+        server.serve();
+    }
+}
@@ -0,0 +1,74 @@
+import javax.swing.*;
+import java.awt.*;
+
+public class GameWindow extends JFrame {
+    private static final String MENU_CARD = "menu";
+    private static final String GAME_CARD = "game";
+
+    private final CardLayout scenes = new CardLayout();
+    private final JPanel sceneContainer = new JPanel(scenes);
+    private MainMenu mainMenu;
+    private MainGameScene gameScene;
+
+    public GameWindow() {
+        setTitle("Behind The Lie: Crime Detective");
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setContentPane(sceneContainer);
+        setSize(1225, 818);
+        setLocationRelativeTo(null);
+        PerformanceOverlay.install(this);
+    }
+
+    // Both scenes are built once and kept, switching only swaps the visible card
+    public void showMainMenu() {
+        if (mainMenu == null) {
+            mainMenu = PhaseTimer.time("MainMenu.construct", () -> new MainMenu(this));
+            sceneContainer.add(mainMenu, MENU_CARD);
+        } else {
+            mainMenu.startFadeInFromGame();
+        }
+        setTitle("Behind The Lie: Crime Detective");
+        scenes.show(sceneContainer, MENU_CARD);
+    }
+
+    public void startGame(String difficulty, String numSuspects) {
+        ensureGameScene();
+        if (!gameScene.newGame(difficulty, numSuspects)) {
+            noCaseFor(difficulty);
+            return;
+        }
+        setTitle("Game Scene");
+        scenes.show(sceneContainer, GAME_CARD);
+    }
+
+    // Falls back to a fresh game with the same settings if the save can't be picked up
+    public void resumeGame(SessionSnapshot snapshot) {
+        ensureGameScene();
+        if (!gameScene.resumeGame(snapshot)) {
+            System.err.println("Saved game doesn't match the scenario data, starting a new one");
+            SessionStore.get().clear();
+            String difficulty = snapshot.difficulty != null ? snapshot.difficulty : "Easy";
+            if (!gameScene.newGame(difficulty, String.valueOf(snapshot.requestedSuspects))) {
+                noCaseFor(difficulty);
+                return;
+            }
+        }
+        setTitle("Game Scene");
+        scenes.show(sceneContainer, GAME_CARD);
+    }
+
+    // The menu faded out to start the game, bring it back
+    private void noCaseFor(String difficulty) {
+        System.err.println("No scenario for difficulty " + difficulty);
+        JOptionPane.showMessageDialog(this, "No case is available for difficulty " + difficulty + ".",
+                "Error", JOptionPane.ERROR_MESSAGE);
+        showMainMenu();
+    }
+
+    private void ensureGameScene() {
+        if (gameScene == null) {
+            gameScene = PhaseTimer.time("MainGameScene.construct", () -> new MainGameScene(this));
+            sceneContainer.add(gameScene, GAME_CARD);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+import java.util.Random;
+
+public class KeystrokeSynth {
+    private static final int VARIANTS = 3;
+    private static final int VOICES_PER_VARIANT = 3;
+    private static final float CLICK_LENGTH_MS = 18f;
+    private static final float CLICK_VOLUME = 0.35f;
+    private static final float SPACE_VOLUME = 0.2f;
+    private static final long SEED = 0x7E57C11CL; // fixed so every run sounds the same
+
+    private static KeystrokeSynth instance;
+
+    private final SoundEffect[] keyClicks = new SoundEffect[VARIANTS];
+    private final SoundEffect spaceClick;
+    private int nextVariant = 0;
+
+    private KeystrokeSynth() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < VARIANTS; i++) {
+            keyClicks[i] = new SoundEffect(synthesizeClick(random, 1800f + 400f * i, CLICK_VOLUME),
+                    AudioMixer.Bus.EFFECTS, VOICES_PER_VARIANT);
+        }
+        spaceClick = new SoundEffect(synthesizeClick(random, 900f, SPACE_VOLUME),
+                AudioMixer.Bus.EFFECTS, VOICES_PER_VARIANT);
+    }
+
+    public static synchronized KeystrokeSynth get() {
+        if (instance == null) {
+            instance = new KeystrokeSynth();
+        }
+        return instance;
+    }
+
+    public void keystroke(char revealed) {
+        if (revealed == ' ') {
+            spaceClick.play();
+        } else if (!Character.isWhitespace(revealed)) {
+            keyClicks[nextVariant].play();
+            nextVariant = (nextVariant + 1) % VARIANTS;
+        }
+    }
+
+    public void stop() {
+        for (SoundEffect click : keyClicks) {
+            click.stop();
+        }
+        spaceClick.stop();
+    }
+
+    // Short decaying noise burst over a damped tone, about 3 KB of stereo PCM per click
+    private static short[] synthesizeClick(Random random, float toneHz, float volume) {
+        float sampleRate = AudioMixer.FORMAT.getSampleRate();
+        int frames = (int) (sampleRate * CLICK_LENGTH_MS / 1000f);
+        short[] samples = new short[frames * AudioMixer.CHANNELS];
+        float noiseDecay = frames / 6f;
+        float toneDecay = frames / 3f;
+        float previousNoise = 0;
+
+        for (int n = 0; n < frames; n++) {
+            float noise = random.nextFloat() * 2f - 1f;
+            float click = (noise - previousNoise) * 0.5f; // first difference keeps it bright
+            previousNoise = noise;
+
+            float tone = (float) Math.sin(2 * Math.PI * toneHz * n / sampleRate);
+            float value = click * (float) Math.exp(-n / noiseDecay) * 0.7f
+                    + tone * (float) Math.exp(-n / toneDecay) * 0.3f;
+
+            short sample = (short) (value * volume * Short.MAX_VALUE);
+            samples[n * 2] = sample;
+            samples[n * 2 + 1] = sample;
+        }
+        return samples;
+    }
+}
@@ -1,6 +1,29 @@
+import javax.swing.*;
+import java.util.function.Consumer;
+
 public class Main {
     public static void main(String[] args) {
-        MainMenu menu = new MainMenu();
-        menu.setVisible(true);
+        launch(GameWindow::showMainMenu);
     }
-}
\ No newline at end of file
+
+    // The startup every entry point shares, only the first scene differs
+    static void launch(Consumer<GameWindow> firstScene) {
+        PhaseTimer.start();
+        EdtWatchdog.start();
+        AssetManifest.preflight();
+        SessionStore.get().load();
+        StatsStore.get().load();
+        SwingUtilities.invokeLater(() -> {
+            PreloadSplash splash = new PreloadSplash();
+            splash.setVisible(true);
+            PhaseTimer.Phase preload = PhaseTimer.begin("preload");
+            AssetPreloader.start(splash::setProgress).thenRun(() -> SwingUtilities.invokeLater(() -> {
+                preload.close();
+                GameWindow window = new GameWindow();
+                firstScene.accept(window);
+                window.setVisible(true);
+                splash.dispose();
+            }));
+        });
+    }
+}
@@ -3,46 +3,47 @@ import java.awt.*;
 import java.awt.color.ColorSpace;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
 import java.awt.image.ColorConvertOp;
 import java.io.IOException;
 import javax.sound.sampled.*;
 import javax.swing.Timer;
 import java.util.*;
 import java.util.List;
-import java.util.stream.Collectors;
 import java.util.Queue;
 import java.util.LinkedList;
 
-public class MainGameScene extends JFrame {
+public class MainGameScene extends JPanel implements GameListener {
     private float fadeAlpha = 1.0f;
     private BufferedImage backgroundImage;
     private BufferedImage exitButtonImage;
     private BufferedImage nextButtonImage;
     private Timer fadeTimer;
-    private Clip buttonClickSound;
+    private SoundEffect buttonClickSound;
     private NotepadIcon notepadIcon;
     private ScenarioIcon scenarioIcon;
     private String difficulty;
     private String numSuspects;
     private ScenarioDataReader scenarioDataReader;
-    private String imposterCharacter;
+    private GameEngine engine;
+    private ReplayLog replayLog;
     private Map<String, AnswerDisplay> currentAnswerDisplays = new HashMap<>();
-    private boolean questionSelected = false;
-    private Clip backgroundMusic;
-    private boolean stopBackgroundMusic = false;
-    private Clip suspenseMusic;
-    private Clip winSound;
-    private Clip loseSound;
-    private boolean stopSuspenseMusic = false;
+    private final List<AnswerDisplay> typingDisplays = new ArrayList<>();
+    private boolean turboMode = TURBO_MODE;
+    private Timer revealTimer;
+    private double typingCharsPerSecond = TYPING_CHARS_PER_SECOND;
+    private StreamingTrack backgroundMusic;
+    private StreamingTrack suspenseMusic;
+    private StreamingTrack winSound;
+    private StreamingTrack loseSound;
+    private final GameWindow window;
     private JLabel resultLabel;
-    private Clip typingSound;
+    private KeystrokeSynth typingSound;
 
     // Animation system variables
     private ArrayList<BystanderAnimation> allAnimations = new ArrayList<>();
     private ArrayList<BystanderAnimation> activeAnimations = new ArrayList<>();
     private Timer animationTimer;
-    private Queue<BystanderAnimation> speakingQueue = new LinkedList<>();
+    private Queue<GameEngine.Testimony> speakingQueue = new LinkedList<>();
     private boolean isSpeakingInProgress = false;
 
     // Bounding box dimensions
@@ -65,7 +66,18 @@ public class MainGameScene extends JFrame {
     private static final int ANSWER_HEIGHT_ABOVE_HEAD = -30;
     private static final Font ANSWER_FONT = new Font("Arial", Font.PLAIN, 18);
     private static final Color ANSWER_COLOR = Color.BLACK;
-    private static final int TYPING_DELAY = 50; // ms between characters
+    private static final double TYPING_CHARS_PER_SECOND =
+            Double.parseDouble(System.getProperty("btl.text.cps", "20"));
+    private static final int REVEAL_FRAME_MS = 16;
+
+    // Turbo mode: suspects answer in staggered overlap, sped up so a question never takes longer than the budget
+    private static final boolean TURBO_MODE = Boolean.getBoolean("btl.turbo");
+    private static final long TURBO_BUDGET_MS = Long.getLong("btl.turbo.budget.ms", 8000);
+    private static final long TURBO_STAGGER_MS = 600;
+    private static final int MUSIC_CROSSFADE_MS = 1500;
+
+    // -Dbtl.debug prints each game's seed and imposter, the seed is also in the replay and stats logs
+    private static final boolean DEBUG = Boolean.getBoolean("btl.debug");
 
     // Text box settings
     private static final int TEXT_BOX_WIDTH = 350;
@@ -88,48 +100,74 @@ public class MainGameScene extends JFrame {
     private static final int NEXT_BUTTON_Y = 21;
 
     // Question handling
-    private int currentQuestionRound = 1;
     private JButton nextButton;
     private RoundedTextArea[] questionTextFields = new RoundedTextArea[3];
-    private int selectedQuestionIndex = -1;
-    private ScenarioDataReader.Scenario currentScenario;
-    private ScenarioDataReader.Question currentQuestion;
 
     private class AnswerDisplay {
-        String fullText;
-        String displayedText = "";
+        final TypewriterReveal reveal;
+        final BystanderAnimation anim;
         int x, y;
-        boolean isTypingComplete = false;
-        Timer typingTimer;
+
+        // Line breaks for the whole answer, worked out once so lines don't reflow while typing
+        int[] lineStarts;
+        int[] lineEnds;
+        int lineCount;
+        int layoutWidth = -1;
 
         public AnswerDisplay(String text, int x, int y, BystanderAnimation anim) {
-            this.fullText = text;
+            this(text, x, y, anim, typingCharsPerSecond, System.nanoTime());
+        }
+
+        public AnswerDisplay(String text, int x, int y, BystanderAnimation anim, double charsPerSecond, long startNanos) {
+            this.reveal = new TypewriterReveal(text, charsPerSecond, startNanos);
             this.x = x;
             this.y = y;
-            startTyping(anim);
+            this.anim = anim;
         }
 
-        private void startTyping(BystanderAnimation anim) {
-            if (typingSound != null) {
-                typingSound.setFramePosition(0);
-                typingSound.loop(Clip.LOOP_CONTINUOUSLY);
-            }
+        boolean isTypingComplete() {
+            return reveal.isComplete();
+        }
 
-            typingTimer = new Timer(TYPING_DELAY, e -> {
-                if (displayedText.length() < fullText.length()) {
-                    displayedText = fullText.substring(0, displayedText.length() + 1);
-                    anim.update();
-                    repaint();
+        void layout(FontMetrics metrics, int width) {
+            if (layoutWidth == width) {
+                return;
+            }
+            char[] text = reveal.getText();
+            int words = 1;
+            for (char c : text) {
+                if (c == ' ') {
+                    words++;
+                }
+            }
+            lineStarts = new int[words];
+            lineEnds = new int[words];
+            lineCount = 0;
+
+            int lineStart = 0;
+            int lineEnd = wordEnd(text, 0);
+            while (lineEnd < text.length) {
+                int nextEnd = wordEnd(text, lineEnd + 1);
+                if (metrics.charsWidth(text, lineStart, nextEnd - lineStart) < width * 0.9) {
+                    lineEnd = nextEnd;
                 } else {
-                    isTypingComplete = true;
-                    typingTimer.stop();
-                    if (typingSound != null) {
-                        typingSound.stop();
-                    }
-                    startNextCharacterIfReady();
+                    lineStarts[lineCount] = lineStart;
+                    lineEnds[lineCount++] = lineEnd;
+                    lineStart = lineEnd + 1;
+                    lineEnd = nextEnd;
                 }
-            });
-            typingTimer.start();
+            }
+            lineStarts[lineCount] = lineStart;
+            lineEnds[lineCount++] = lineEnd;
+            layoutWidth = width;
+        }
+
+        private int wordEnd(char[] text, int from) {
+            int end = from;
+            while (end < text.length && text[end] != ' ') {
+                end++;
+            }
+            return end;
         }
     }
 
@@ -215,12 +253,13 @@ public class MainGameScene extends JFrame {
         private boolean isGrayscale = false;
         private static final int CHOOSE_TEXT_Y = 150;
 
-        public BystanderAnimation(String frame1Path, String frame2Path, String frame3Path, String name) {
+        public BystanderAnimation(String name) {
             this.characterName = name;
+            String[] framePaths = AssetManifest.getCharacterFrames(name);
             try {
-                frames[0] = ImageIO.read(getClass().getResource(frame1Path));
-                frames[1] = ImageIO.read(getClass().getResource(frame2Path));
-                frames[2] = ImageIO.read(getClass().getResource(frame3Path));
+                for (int i = 0; i < 3; i++) {
+                    frames[i] = AssetPreloader.readImage(framePaths[i]);
+                }
             } catch (IOException e) {
                 e.printStackTrace();
                 for (int i = 0; i < 3; i++) {
@@ -276,9 +315,9 @@ public class MainGameScene extends JFrame {
                 g2d.drawImage(frameToDraw, drawX, y, width, height, null);
                 drawName(g2d, drawX, y);
 
-                if (currentAnswerDisplays.containsKey(characterName)) {
-                    AnswerDisplay answer = currentAnswerDisplays.get(characterName);
-                    drawAnswer(g2d, answer.displayedText, drawX, y);
+                AnswerDisplay answer = currentAnswerDisplays.get(characterName);
+                if (answer != null) {
+                    drawAnswer(g2d, answer, drawX, y);
                 }
             }
         }
@@ -297,37 +336,32 @@ public class MainGameScene extends JFrame {
             g2d.setColor(originalColor);
         }
 
-        private void drawAnswer(Graphics2D g2d, String answer, int drawX, int drawY) {
+        // Draws the revealed prefix straight from the answer's characters, nothing is allocated per frame
+        private void drawAnswer(Graphics2D g2d, AnswerDisplay answer, int drawX, int drawY) {
             Font originalFont = g2d.getFont();
             Color originalColor = g2d.getColor();
             g2d.setFont(ANSWER_FONT);
             g2d.setColor(ANSWER_COLOR);
             FontMetrics metrics = g2d.getFontMetrics();
+            answer.layout(metrics, width);
 
-            String[] words = answer.split(" ");
-            StringBuilder currentLine = new StringBuilder(words[0]);
-            List<String> lines = new ArrayList<>();
-
-            for (int i = 1; i < words.length; i++) {
-                String testLine = currentLine + " " + words[i];
-                if (metrics.stringWidth(testLine) < width * 0.9) {
-                    currentLine.append(" ").append(words[i]);
-                } else {
-                    lines.add(currentLine.toString());
-                    currentLine = new StringBuilder(words[i]);
-                }
+            char[] text = answer.reveal.getText();
+            int revealed = answer.reveal.getRevealed();
+            int visibleLines = 0;
+            while (visibleLines < answer.lineCount && answer.lineStarts[visibleLines] < revealed) {
+                visibleLines++;
             }
-            lines.add(currentLine.toString());
 
             int lineHeight = metrics.getHeight();
-            int startY = drawY - ANSWER_HEIGHT_ABOVE_HEAD - (lines.size() - 1) * lineHeight;
+            int startY = drawY - ANSWER_HEIGHT_ABOVE_HEAD - (visibleLines - 1) * lineHeight;
 
-            for (int i = 0; i < lines.size(); i++) {
-                String line = lines.get(i);
-                int textWidth = metrics.stringWidth(line);
+            for (int i = 0; i < visibleLines; i++) {
+                int start = answer.lineStarts[i];
+                int length = Math.min(answer.lineEnds[i], revealed) - start;
+                int textWidth = metrics.charsWidth(text, start, length);
                 int textX = drawX + (width / 2) - (textWidth / 2);
                 int textY = startY + i * lineHeight;
-                g2d.drawString(line, textX, textY);
+                g2d.drawChars(text, start, length, textX, textY);
             }
 
             g2d.setFont(originalFont);
@@ -335,78 +369,324 @@ public class MainGameScene extends JFrame {
         }
     }
 
-    public MainGameScene(String difficulty, String numSuspects) {
+    public MainGameScene(GameWindow window) {
+        this.window = window;
+        this.scenarioDataReader = PhaseTimer.time("MainGameScene.loadScenarios", () -> new ScenarioDataReader());
+        PhaseTimer.time("MainGameScene.initializeUI", this::initializeUI);
+        PhaseTimer.time("MainGameScene.loadResources", this::loadResources);
+        PhaseTimer.time("MainGameScene.setupAnimations", this::setupAnimations);
+
+        List<String> characters = new ArrayList<>();
+        for (BystanderAnimation anim : allAnimations) {
+            characters.add(anim.characterName);
+        }
+        engine = new GameEngine(scenarioDataReader, characters, new Random());
+        // Ahead of the scene, so the result shown at game over already counts this game
+        engine.addListener(StatsStore.get().recorder(engine));
+        engine.addListener(this);
+        replayLog = new ReplayLog(engine);
+        engine.addListener(replayLog);
+    }
+
+    // -Dbtl.seed=0x... replays the game a bug report came from, in the unsigned hex the seed is printed in
+    private static long nextSeed() {
+        String fixed = System.getProperty("btl.seed");
+        if (fixed != null) {
+            try {
+                return Long.parseUnsignedLong(fixed.trim().replaceFirst("^0[xX]", ""), 16);
+            } catch (NumberFormatException e) {
+                System.err.println("Ignoring btl.seed, not a hex seed: " + fixed);
+            }
+        }
+        return new Random().nextLong();
+    }
+
+    // Returns false if there is no case for the difficulty, nothing is started then
+    public boolean newGame(String difficulty, String numSuspects) {
         this.difficulty = difficulty;
         this.numSuspects = numSuspects;
-        this.scenarioDataReader = new ScenarioDataReader();
-        initializeUI();
-        loadResources();
-        setupAnimations();
-        setupScenario();
-        startFadeIn();
+        resetScene();
+
+        if (!PhaseTimer.time("MainGameScene.setupScenario",
+                () -> engine.newGame(nextSeed(), difficulty, Integer.parseInt(numSuspects)))) {
+            return false;
+        }
+        startFadeIn(backgroundMusic);
+        return true;
     }
 
-    private void initializeUI() {
-        setTitle("Game Scene");
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        setSize(1225, 818);
-        setLocationRelativeTo(null);
+    // Returns false if the save no longer fits the scenario data, the scene is then left untouched
+    public boolean resumeGame(SessionSnapshot snapshot) {
+        resetScene();
+        if (!PhaseTimer.time("MainGameScene.resumeScenario", () -> engine.resume(snapshot))) {
+            return false;
+        }
+        startFadeIn(engine.getState() == GameEngine.State.ACCUSING ? suspenseMusic : backgroundMusic);
+        return true;
+    }
 
-        JPanel mainPanel = new JPanel() {
+    // The scene is built once and reused, this resets everything a previous game left behind
+    private void resetScene() {
+        PhaseTimer.resetFirstPaint("MainGameScene");
+
+        stopTyping();
+        currentAnswerDisplays.clear();
+        speakingQueue.clear();
+        isSpeakingInProgress = false;
+        selectedCharacter = null;
+        removeCharacterSelection();
+        if (chooseLabel != null) {
+            remove(chooseLabel);
+            chooseLabel = null;
+        }
+        resultLabel = null;
+        for (RoundedTextArea textField : questionTextFields) {
+            textField.setVisible(true);
+        }
+        for (BystanderAnimation anim : allAnimations) {
+            anim.setSpeaking(false);
+            anim.setGrayscale(false);
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        long paintStart = System.nanoTime();
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+        for (BystanderAnimation animation : activeAnimations) {
+            animation.draw(g2d);
+        }
+        if (fadeAlpha > 0) {
+            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, fadeAlpha));
+            g2d.setColor(Color.BLACK);
+            g2d.fillRect(0, 0, getWidth(), getHeight());
+        }
+        PerformanceOverlay.recordPaint(System.nanoTime() - paintStart);
+        PhaseTimer.firstPaint("MainGameScene");
+    }
+
+    private void initializeUI() {
+        setLayout(null);
+        addTextBoxes(this);
+        add(createExitButton());
+        addNotepadAndScenarioIcons(this);
+        createNextButton(this);
+
+        // One timer reveals whichever answers are being typed, clicking anywhere finishes them
+        revealTimer = PerformanceOverlay.track(new Timer(REVEAL_FRAME_MS, e -> advanceTyping()));
+        addMouseListener(new MouseAdapter() {
             @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
-                for (BystanderAnimation animation : activeAnimations) {
-                    animation.draw(g2d);
-                }
-                if (fadeAlpha > 0) {
-                    g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, fadeAlpha));
-                    g2d.setColor(Color.BLACK);
-                    g2d.fillRect(0, 0, getWidth(), getHeight());
+            public void mousePressed(MouseEvent e) {
+                if (!typingDisplays.isEmpty()) {
+                    for (AnswerDisplay display : typingDisplays) {
+                        display.reveal.complete();
+                    }
+                    advanceTyping();
                 }
             }
-        };
-        mainPanel.setLayout(null);
-        setContentPane(mainPanel);
-        addTextBoxes(mainPanel);
-        mainPanel.add(createExitButton());
-        addNotepadAndScenarioIcons(mainPanel);
-        createNextButton(mainPanel);
+        });
     }
 
-    private void setupScenario() {
-        List<String> characterNames = activeAnimations.stream()
-                .map(anim -> anim.characterName)
-                .collect(Collectors.toList());
+    public void setTypingSpeed(double charsPerSecond) {
+        typingCharsPerSecond = charsPerSecond;
+        long now = System.nanoTime();
+        for (AnswerDisplay display : typingDisplays) {
+            display.reveal.setCharsPerSecond(charsPerSecond, now);
+        }
+    }
+
+    // Takes effect from the next question asked
+    public void setTurboMode(boolean turboMode) {
+        this.turboMode = turboMode;
+    }
 
-        currentScenario = scenarioDataReader.getRandomScenario(difficulty);
-        if (currentScenario != null) {
-            scenarioIcon.setScenario(currentScenario);
-            imposterCharacter = characterNames.get(new Random().nextInt(characterNames.size()));
-            System.out.println("Imposter is: " + imposterCharacter);
-            loadQuestionsForCurrentRound();
+    private void advanceTyping() {
+        if (typingDisplays.isEmpty()) {
+            revealTimer.stop();
+            return;
+        }
+        long now = System.nanoTime();
+        char lastTyped = 0;
+        for (int i = typingDisplays.size() - 1; i >= 0; i--) {
+            AnswerDisplay display = typingDisplays.get(i);
+            TypewriterReveal reveal = display.reveal;
+            if (reveal.advance(now) > 0) {
+                lastTyped = reveal.getText()[reveal.getRevealed() - 1];
+                display.anim.setSpeaking(true);
+                display.anim.update();
+            }
+            if (reveal.isComplete()) {
+                display.anim.setSpeaking(false);
+                typingDisplays.remove(i);
+            }
+        }
+        if (lastTyped != 0) {
+            // A late frame or overlapping answers can reveal several characters at once, they share one click
+            typingSound.keystroke(lastTyped);
+            repaint();
+        }
+        if (typingDisplays.isEmpty()) {
+            stopTyping();
+            repaint();
+            startNextCharacterIfReady();
         }
     }
 
-    private void loadQuestionsForCurrentRound() {
-        questionSelected = false; // Reset the flag for new round
-        int startIndex = (currentQuestionRound - 1) * 3;
-        for (int i = 0; i < 3; i++) {
-            int questionIndex = startIndex + i;
-            if (questionIndex < currentScenario.questions.size()) {
-                questionTextFields[i].setText(currentScenario.questions.get(questionIndex).text);
-            } else {
-                questionTextFields[i].setText("No question available");
+    private void stopTyping() {
+        if (revealTimer.isRunning()) {
+            AudioMixer.get().duck(AudioMixer.Bus.MUSIC, false);
+        }
+        typingDisplays.clear();
+        revealTimer.stop();
+    }
+
+    @Override
+    public void gameStarted(ScenarioDataReader.Scenario scenario, List<String> suspects, String imposter) {
+        setupActiveAnimations(suspects);
+        scenarioIcon.setScenario(scenario);
+        notepadIcon.setNotes(NotepadStore.get().open(notesKey()));
+        if (DEBUG) {
+            System.out.println("Seed 0x" + Long.toHexString(engine.getSeed()) + ", imposter is: " + imposter);
+        }
+    }
+
+    // Rebuilds the scene as it stood when the snapshot was taken, answers already heard are shown in full
+    @Override
+    public void gameResumed(ScenarioDataReader.Scenario scenario, List<String> suspects, String imposter) {
+        difficulty = engine.getDifficulty();
+        numSuspects = String.valueOf(engine.getRequestedSuspects());
+        setupActiveAnimations(suspects);
+        scenarioIcon.setScenario(scenario);
+        notepadIcon.setNotes(NotepadStore.get().open(notesKey()));
+        if (DEBUG) {
+            System.out.println("Resumed seed 0x" + Long.toHexString(engine.getSeed()) + " in round " + engine.getRound()
+                    + ", imposter is: " + imposter);
+        }
+
+        if (engine.getState() == GameEngine.State.ACCUSING) {
+            showAccusation();
+            return;
+        }
+        List<ScenarioDataReader.Question> questions = engine.getRoundQuestions();
+        showRoundQuestions(questions);
+        ScenarioDataReader.Question current = engine.getCurrentQuestion();
+        if (current != null) {
+            questionTextFields[questions.indexOf(current)].setSelected(true);
+            for (GameEngine.Testimony testimony : engine.getTestimonies(current)) {
+                BystanderAnimation anim = animationFor(testimony.character);
+                AnswerDisplay display = new AnswerDisplay(testimony.text,
+                        anim.x + anim.frameOffsets[anim.currentFrame], anim.y, anim);
+                display.reveal.complete();
+                currentAnswerDisplays.put(testimony.character, display);
             }
+            nextButton.setVisible(true);
+        }
+        repaint();
+    }
+
+    // Notes belong to one game, a resumed game has the same seed and scenario and gets its notes back
+    private String notesKey() {
+        return Long.toHexString(engine.getSeed()) + "-" + engine.getScenario().id;
+    }
+
+    private void saveSession() {
+        SessionStore.get().save(engine.snapshot());
+    }
+
+    @Override
+    public void roundStarted(int round, List<ScenarioDataReader.Question> questions) {
+        showRoundQuestions(questions);
+        saveSession();
+    }
+
+    private void showRoundQuestions(List<ScenarioDataReader.Question> questions) {
+        for (int i = 0; i < 3; i++) {
+            ScenarioDataReader.Question question = questions.get(i);
+            questionTextFields[i].setText(question != null ? question.text : "No question available");
             questionTextFields[i].setSelected(false);
         }
-        selectedQuestionIndex = -1;
         nextButton.setVisible(false);
         currentAnswerDisplays.clear();
     }
 
+    @Override
+    public void questionAsked(ScenarioDataReader.Question question, List<GameEngine.Testimony> testimonies) {
+        currentAnswerDisplays.clear();
+        speakingQueue.clear();
+        speakingQueue.addAll(testimonies);
+        startSpeakingSequence();
+    }
+
+    @Override
+    public void roundFinished(int round) {
+        nextButton.setVisible(true);
+        saveSession();
+    }
+
+    @Override
+    public void accusationStarted() {
+        backgroundMusic.crossfadeTo(suspenseMusic, true, MUSIC_CROSSFADE_MS);
+        showAccusation();
+        saveSession();
+    }
+
+    private void showAccusation() {
+        currentAnswerDisplays.clear();
+
+        nextButton.setVisible(false);
+        for (RoundedTextArea textField : questionTextFields) {
+            textField.setVisible(false);
+        }
+
+        chooseLabel = new JLabel("CHOOSE THE IMPOSTER", SwingConstants.CENTER);
+        chooseLabel.setFont(new Font("Arial", Font.BOLD, 30));
+        chooseLabel.setForeground(Color.BLACK);
+        chooseLabel.setBounds(200, BystanderAnimation.CHOOSE_TEXT_Y, 800, (int)(272 * NEXT_BUTTON_SCALE)); // Using our new Y position
+        add(chooseLabel);
+
+        applyGrayscaleToCharacters();
+
+        setupCharacterSelection();
+
+        revalidate();
+        repaint();
+    }
+
+    @Override
+    public void gameOver(boolean won, String accused, String imposter) {
+        SessionStore.get().clear();
+        resultLabel = chooseLabel;
+        suspenseMusic.stop();
+        selectedCharacter = accused;
+        String stats = caseStatsLine();
+        if (won) {
+            resultLabel.setText("<html><center>YOU WIN: Imposter was " + imposter + stats + "</center></html>");
+            resultLabel.setForeground(Color.GREEN);
+            winSound.play(false);
+        } else {
+            resultLabel.setText("<html><center>YOU LOSE: Imposter was " + imposter + stats + "</center></html>");
+            resultLabel.setForeground(Color.RED);
+            loseSound.play(false);
+        }
+
+        removeCharacterSelection();
+
+        repaint();
+    }
+
+    // Read from the in-memory totals, nothing is loaded at game over
+    private String caseStatsLine() {
+        StatsStore.Tally tally = StatsStore.get().getScenario(engine.getScenario().id);
+        if (tally.games == 0) {
+            return "";
+        }
+        return "<br><font size='4'>Case solved " + tally.wins + " of " + tally.games + " times"
+                + (tally.hasFastestWin() ? ", fastest " + StatsStore.formatDuration(tally.fastestWinMillis) : "")
+                + "</font>";
+    }
+
     private void addTextBoxes(JPanel panel) {
         for (int i = 0; i < 3; i++) {
             questionTextFields[i] = new RoundedTextArea();
@@ -422,7 +702,7 @@ public class MainGameScene extends JFrame {
 
     private void createNextButton(JPanel panel) {
         try {
-            nextButtonImage = ImageIO.read(getClass().getResource("Next Button.png"));
+            nextButtonImage = AssetPreloader.readImage("Next Button.png");
         } catch (IOException e) {
             e.printStackTrace();
             nextButtonImage = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
@@ -464,7 +744,7 @@ public class MainGameScene extends JFrame {
                     applyButtonScale();
                     if (scale >= targetScale) growTimer.stop();
                 });
-                growTimer.start();
+                PerformanceOverlay.track(growTimer).start();
             }
 
             @Override
@@ -475,7 +755,7 @@ public class MainGameScene extends JFrame {
                     applyButtonScale();
                     if (scale <= 1.0f) growTimer.stop();
                 });
-                growTimer.start();
+                PerformanceOverlay.track(growTimer).start();
             }
 
             private void applyButtonScale() {
@@ -494,67 +774,35 @@ public class MainGameScene extends JFrame {
 
         nextButton.addActionListener(e -> {
             playButtonClickSound();
-            if (currentQuestionRound < 3) {
-                currentQuestionRound++;
-                loadQuestionsForCurrentRound();
-            } else {
-
-                stopBackgroundMusic = true;
-                if (backgroundMusic != null) {
-                    backgroundMusic.stop();
-                }
-
-                stopSuspenseMusic = false;
-                if (suspenseMusic != null) {
-                    suspenseMusic.setFramePosition(0);
-                    suspenseMusic.start();
-                }
-
-                currentAnswerDisplays.clear();
-
-                nextButton.setVisible(false);
-                for (RoundedTextArea textField : questionTextFields) {
-                    textField.setVisible(false);
-                }
-
-                JLabel chooseLabel = new JLabel("CHOOSE THE IMPOSTER", SwingConstants.CENTER);
-                chooseLabel.setFont(new Font("Arial", Font.BOLD, 30));
-                chooseLabel.setForeground(Color.BLACK);
-                chooseLabel.setBounds(200, BystanderAnimation.CHOOSE_TEXT_Y, 800, scaledHeight); // Using our new Y position
-                getContentPane().add(chooseLabel);
-
-                applyGrayscaleToCharacters();
-
-                setupCharacterSelection(chooseLabel);
-
-                revalidate();
-                repaint();
-            }
+            engine.nextRound();
         });
 
         panel.add(nextButton);
     }
 
     private void selectQuestion(RoundedTextArea selectedField) {
-        if (questionSelected) {
+        if (engine.getState() != GameEngine.State.ASKING) {
+            return;
+        }
+
+        int slot = Arrays.asList(questionTextFields).indexOf(selectedField);
+        if (engine.getRoundQuestions().get(slot) == null) {
             return;
         }
 
         playButtonClickSound();
         for (int i = 0; i < 3; i++) {
-            questionTextFields[i].setSelected(questionTextFields[i] == selectedField);
-            if (questionTextFields[i] == selectedField) {
-                selectedQuestionIndex = i;
-                questionSelected = true; // Set the flag
-                showAnswersForSelectedQuestion(i);
-            }
+            questionTextFields[i].setSelected(i == slot);
         }
+        engine.askQuestion(slot);
     }
 
     private void applyGrayscaleToCharacters() {
         for (BystanderAnimation anim : activeAnimations) {
             for (int i = 0; i < anim.frames.length; i++) {
-                anim.grayscaleFrames[i] = convertToGrayscale(anim.frames[i]);
+                if (anim.grayscaleFrames[i] == null) {
+                    anim.grayscaleFrames[i] = convertToGrayscale(anim.frames[i]);
+                }
             }
             anim.setGrayscale(true);
         }
@@ -574,8 +822,8 @@ public class MainGameScene extends JFrame {
         return grayscale;
     }
 
-    private void setupCharacterSelection(JLabel chooseLabel) {
-        getContentPane().addMouseListener(new MouseAdapter() {
+    private void setupCharacterSelection() {
+        selectionMouseListener = new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
                 for (BystanderAnimation anim : activeAnimations) {
@@ -583,14 +831,14 @@ public class MainGameScene extends JFrame {
                             anim.x, anim.y, anim.width, anim.height);
                     if (bounds.contains(e.getPoint())) {
                         anim.setGrayscale(false); // Permanently remove grayscale
-                        handleCharacterSelection(anim.characterName, chooseLabel);
+                        engine.accuse(anim.characterName);
                         break;
                     }
                 }
             }
-        });
+        };
 
-        getContentPane().addMouseMotionListener(new MouseMotionAdapter() {
+        selectionMotionListener = new MouseMotionAdapter() {
             @Override
             public void mouseMoved(MouseEvent e) {
                 for (BystanderAnimation anim : activeAnimations) {
@@ -601,134 +849,103 @@ public class MainGameScene extends JFrame {
                 }
                 repaint();
             }
-        });
-    }
+        };
 
-    private String selectedCharacter = null;
+        addMouseListener(selectionMouseListener);
+        addMouseMotionListener(selectionMotionListener);
+    }
 
-    private void handleCharacterSelection(String characterName, JLabel resultLabel) {
-        this.resultLabel = resultLabel;
-        stopSuspenseMusic = true;
-        if (suspenseMusic != null) {
-            suspenseMusic.stop();
-        }
-        selectedCharacter = characterName;
-        if (characterName.equals(imposterCharacter)) {
-            resultLabel.setText("YOU WIN: Imposter was " + imposterCharacter);
-            resultLabel.setForeground(Color.GREEN);
-            if (winSound != null) {
-                winSound.setFramePosition(0);
-                winSound.start();
-            }
-        } else {
-            resultLabel.setText("YOU LOSE: Imposter was " + imposterCharacter);
-            resultLabel.setForeground(Color.RED);
-            if (loseSound != null) {
-                loseSound.setFramePosition(0);
-                loseSound.start();
-            }
+    private void removeCharacterSelection() {
+        if (selectionMouseListener != null) {
+            removeMouseListener(selectionMouseListener);
+            removeMouseMotionListener(selectionMotionListener);
+            selectionMouseListener = null;
+            selectionMotionListener = null;
         }
+    }
 
+    private String selectedCharacter = null;
+    private JLabel chooseLabel;
+    private MouseListener selectionMouseListener;
+    private MouseMotionListener selectionMotionListener;
 
-        MouseListener[] mouseListeners = getContentPane().getMouseListeners();
-        for (MouseListener listener : mouseListeners) {
-            if (listener != this) {
-                getContentPane().removeMouseListener(listener);
-            }
-        }
-        MouseMotionListener[] motionListeners = getContentPane().getMouseMotionListeners();
-        for (MouseMotionListener listener : motionListeners) {
-            if (listener != this) {
-                getContentPane().removeMouseMotionListener(listener);
+    private void startSpeakingSequence() {
+        if (!isSpeakingInProgress) {
+            isSpeakingInProgress = true;
+            if (turboMode) {
+                startTurboSpeaking();
+            } else {
+                startNextCharacterIfReady();
             }
         }
-
-        repaint();
     }
 
-    private void showAnswersForSelectedQuestion(int questionIndex) {
-        currentAnswerDisplays.clear();
-        speakingQueue.clear();
+    private void startCharacterSpeaking(GameEngine.Testimony testimony) {
+        startTyping(testimony, typingCharsPerSecond, System.nanoTime());
+    }
 
-        int actualQuestionIndex = (currentQuestionRound - 1) * 3 + questionIndex;
-        if (actualQuestionIndex >= currentScenario.questions.size()) {
-            return;
+    // Everyone answers at once, each suspect starting a little after the last, all at one shared rate
+    // picked so the last answer finishes within the budget. Never slower than the normal typing speed.
+    private void startTurboSpeaking() {
+        int count = speakingQueue.size();
+        long budgetNanos = TURBO_BUDGET_MS * 1_000_000L;
+        // Leave at least half the budget for typing however many suspects there are
+        long staggerNanos = Math.min(TURBO_STAGGER_MS * 1_000_000L, budgetNanos / Math.max(1, 2 * (count - 1)));
+
+        double charsPerSecond = typingCharsPerSecond;
+        int slot = 0;
+        for (GameEngine.Testimony testimony : speakingQueue) {
+            double typingSeconds = (budgetNanos - slot * staggerNanos) / 1_000_000_000.0;
+            charsPerSecond = Math.max(charsPerSecond, testimony.text.length() / typingSeconds);
+            slot++;
         }
 
-        currentQuestion = currentScenario.questions.get(actualQuestionIndex);
-
-
-        activeAnimations.stream()
-                .sorted(Comparator.comparingInt(a -> a.x))
-                .forEach(speakingQueue::add);
-
-        startSpeakingSequence();
-    }
-
-    private void startSpeakingSequence() {
-        if (!isSpeakingInProgress && !speakingQueue.isEmpty()) {
-            isSpeakingInProgress = true;
-            BystanderAnimation nextAnim = speakingQueue.poll();
-            nextAnim.setSpeaking(true);
-            startCharacterSpeaking(nextAnim);
+        long now = System.nanoTime();
+        slot = 0;
+        while (!speakingQueue.isEmpty()) {
+            startTyping(speakingQueue.poll(), charsPerSecond, now + slot * staggerNanos);
+            slot++;
+        }
+        if (count == 0) {
+            startNextCharacterIfReady();
         }
     }
 
-    private void startCharacterSpeaking(BystanderAnimation anim) {
-        String characterName = anim.characterName;
-        String answer = findAnswerForCharacter(characterName);
-
-        if (answer != null) {
-            int drawX = anim.x + anim.frameOffsets[anim.currentFrame];
-            int drawY = anim.y;
-            currentAnswerDisplays.put(characterName,
-                    new AnswerDisplay(answer, drawX, drawY, anim));
+    private void startTyping(GameEngine.Testimony testimony, double charsPerSecond, long startNanos) {
+        BystanderAnimation anim = animationFor(testimony.character);
+        int drawX = anim.x + anim.frameOffsets[anim.currentFrame];
+        int drawY = anim.y;
+        AnswerDisplay display = new AnswerDisplay(testimony.text, drawX, drawY, anim, charsPerSecond, startNanos);
+        currentAnswerDisplays.put(testimony.character, display);
+        typingDisplays.add(display);
+        if (!revealTimer.isRunning()) {
+            AudioMixer.get().duck(AudioMixer.Bus.MUSIC, true);
+            revealTimer.start();
         }
     }
 
     private void startNextCharacterIfReady() {
 
         boolean allAnswersComplete = currentAnswerDisplays.values().stream()
-                .allMatch(ad -> ad.isTypingComplete);
+                .allMatch(AnswerDisplay::isTypingComplete);
 
         if (allAnswersComplete) {
 
             activeAnimations.forEach(anim -> anim.setSpeaking(false));
 
-            if (typingSound != null && typingSound.isActive()) {
-                typingSound.stop();
-            }
-
             if (!speakingQueue.isEmpty()) {
-                BystanderAnimation nextAnim = speakingQueue.poll();
-                nextAnim.setSpeaking(true);
-                startCharacterSpeaking(nextAnim);
+                startCharacterSpeaking(speakingQueue.poll());
             } else {
                 isSpeakingInProgress = false;
-                nextButton.setVisible(true);
+                engine.answersHeard();
             }
         }
     }
 
-    private String findAnswerForCharacter(String characterName) {
-        for (ScenarioDataReader.Answer answer : currentQuestion.answers) {
-            if (answer.character.equalsIgnoreCase(characterName)) {
-                return characterName.equalsIgnoreCase(imposterCharacter)
-                        ? answer.guiltyResponse
-                        : answer.innocentResponse;
-            }
-        }
-        return null;
-    }
-
     private void loadResources() {
         try {
-            backgroundImage = ImageIO.read(getClass().getResource("Suspect Background.png"));
-            exitButtonImage = ImageIO.read(getClass().getResource("Exit.png"));
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(
-                    getClass().getResource("Main Click.wav"));
-            buttonClickSound = AudioSystem.getClip();
-            buttonClickSound.open(audioInputStream);
+            backgroundImage = AssetPreloader.readImage("Suspect Background.png");
+            exitButtonImage = AssetPreloader.readImage("Exit.png");
         } catch (Exception e) {
             e.printStackTrace();
             backgroundImage = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
@@ -738,78 +955,44 @@ public class MainGameScene extends JFrame {
             g.dispose();
         }
 
-        try {
-            AudioInputStream bgAudioStream = AudioSystem.getAudioInputStream(
-                    getClass().getResource("GameScene.wav"));
-            backgroundMusic = AudioSystem.getClip();
-            backgroundMusic.open(bgAudioStream);
-
-            backgroundMusic.addLineListener(event -> {
-                if (event.getType() == LineEvent.Type.STOP && !stopBackgroundMusic) {
-                    backgroundMusic.setFramePosition(0);
-                    backgroundMusic.start();
-                }
-            });
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        buttonClickSound = SoundBank.acquire("Main Click.wav");
+        typingSound = KeystrokeSynth.get();
 
-        try {
-            AudioInputStream suspenseStream = AudioSystem.getAudioInputStream(
-                    getClass().getResource("suspense.wav"));
-            suspenseMusic = AudioSystem.getClip();
-            suspenseMusic.open(suspenseStream);
-
-            suspenseMusic.addLineListener(event -> {
-                if (event.getType() == LineEvent.Type.STOP && !stopSuspenseMusic) {
-                    suspenseMusic.setFramePosition(0);
-                    suspenseMusic.start();
-                }
-            });
-
-            AudioInputStream winStream = AudioSystem.getAudioInputStream(
-                    getClass().getResource("win.wav"));
-            winSound = AudioSystem.getClip();
-            winSound.open(winStream);
-
-            // Load lose sound
-            AudioInputStream loseStream = AudioSystem.getAudioInputStream(
-                    getClass().getResource("lose.wav"));
-            loseSound = AudioSystem.getClip();
-            loseSound.open(loseStream);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        // Long tracks are streamed, so nothing is decoded until they start playing
+        backgroundMusic = new StreamingTrack("GameScene.wav", AudioMixer.Bus.MUSIC);
+        suspenseMusic = new StreamingTrack("suspense.wav", AudioMixer.Bus.MUSIC);
+        winSound = new StreamingTrack("win.wav", AudioMixer.Bus.EFFECTS);
+        loseSound = new StreamingTrack("lose.wav", AudioMixer.Bus.EFFECTS);
+    }
 
-        try {
-            AudioInputStream typingStream = AudioSystem.getAudioInputStream(
-                    getClass().getResource("typing.wav"));
-            typingSound = AudioSystem.getClip();
-            typingSound.open(typingStream);
-        } catch (Exception e) {
-            e.printStackTrace();
-            e.printStackTrace();
-        }
+    // The button click is left alone, the menu plays the same shared effect
+    private void stopAllSounds() {
+        backgroundMusic.stop();
+        suspenseMusic.stop();
+        winSound.stop();
+        loseSound.stop();
+        typingSound.stop();
+        notepadIcon.stopSounds();
+        scenarioIcon.stopSounds();
     }
 
     private void setupAnimations() {
         loadAllAnimations();
-        setupActiveAnimations();
         animationTimer = new Timer(1000, e -> {
             // Animation updates now handled by typing timers
         });
     }
 
     private void loadAllAnimations() {
-        allAnimations.add(new BystanderAnimation("bystander 111.png", "bystander 222.png", "bystander 333.png", "Bystander"));
-        allAnimations.add(new BystanderAnimation("lawyer 1.png", "lawyer 2.png", "lawyer 3.png", "Lawyer"));
-        allAnimations.add(new BystanderAnimation("Delivery Man 1.png", "Delivery Man 2.png", "Delivery Man 3.png", "Delivery Man"));
-        allAnimations.add(new BystanderAnimation("Doctor 1.png", "Doctor 2.png", "Doctor 3.png", "Doctor"));
-        allAnimations.add(new BystanderAnimation("Old Man 1.png", "Old Man 2.png", "Old Man 3.png", "Old Man"));
-        allAnimations.add(new BystanderAnimation("Bartender 1.png", "Bartender 2.png", "Bartender 3.png", "Bartender"));
-        allAnimations.add(new BystanderAnimation("Electrician 1.png", "Electrician 2.png", "Electrician 3.png", "Electrician"));
-        allAnimations.add(new BystanderAnimation("Taxi Driver 1.png", "Taxi Driver 2.png", "Taxi Driver 3.png", "Taxi Driver"));
-        allAnimations.add(new BystanderAnimation("Tutor 1.png", "Tutor 2.png", "Tutor 3.png", "Tutor"));
+        allAnimations.add(new BystanderAnimation("Bystander"));
+        allAnimations.add(new BystanderAnimation("Lawyer"));
+        allAnimations.add(new BystanderAnimation("Delivery Man"));
+        allAnimations.add(new BystanderAnimation("Doctor"));
+        allAnimations.add(new BystanderAnimation("Old Man"));
+        allAnimations.add(new BystanderAnimation("Bartender"));
+        allAnimations.add(new BystanderAnimation("Electrician"));
+        allAnimations.add(new BystanderAnimation("Taxi Driver"));
+        allAnimations.add(new BystanderAnimation("Tutor"));
 
         allAnimations.get(0).setFrameOffsets(3,0,1);
         allAnimations.get(1).setFrameOffsets(0,0,0);
@@ -832,10 +1015,22 @@ public class MainGameScene extends JFrame {
         allAnimations.get(8).setVerticalOffset(91);
     }
 
-    private void setupActiveAnimations() {
-        Collections.shuffle(allAnimations);
-        int numToShow = Math.min(Math.max(3, Integer.parseInt(numSuspects)), 5);
-        activeAnimations = new ArrayList<>(allAnimations.subList(0, numToShow));
+    private BystanderAnimation animationFor(String characterName) {
+        for (BystanderAnimation anim : allAnimations) {
+            if (anim.characterName.equals(characterName)) {
+                return anim;
+            }
+        }
+        throw new IllegalArgumentException("No animation for " + characterName);
+    }
+
+    // Lines the suspects up left to right in the order the engine picked them
+    private void setupActiveAnimations(List<String> suspects) {
+        int numToShow = suspects.size();
+        activeAnimations = new ArrayList<>();
+        for (String suspect : suspects) {
+            activeAnimations.add(animationFor(suspect));
+        }
 
         int totalWidth = numToShow * ANIMATION_WIDTH;
         int spacing = (BOX_WIDTH - totalWidth) / (numToShow + 1);
@@ -880,7 +1075,7 @@ public class MainGameScene extends JFrame {
                     applyButtonScale();
                     if (scale >= targetScale) growTimer.stop();
                 });
-                growTimer.start();
+                PerformanceOverlay.track(growTimer).start();
             }
 
             @Override
@@ -891,7 +1086,7 @@ public class MainGameScene extends JFrame {
                     applyButtonScale();
                     if (scale <= 1.0f) growTimer.stop();
                 });
-                growTimer.start();
+                PerformanceOverlay.track(growTimer).start();
             }
 
             private void applyButtonScale() {
@@ -921,23 +1116,21 @@ public class MainGameScene extends JFrame {
         scenarioIcon = new ScenarioIcon(950, 20, 80, 80, this);
 
         notepadIcon.addActionListener(e -> playButtonClickSound());
-        scenarioIcon.addActionListener(e -> {
-            playButtonClickSound();
-            scenarioIcon.openScenarioWindow();
-        });
+        scenarioIcon.addActionListener(e -> playButtonClickSound());
 
         panel.add(notepadIcon);
         panel.add(scenarioIcon);
+        // Their windows are built once the scene is up, not when an icon is first clicked
+        SwingUtilities.invokeLater(AuxiliaryWindows::prepare);
     }
 
     private void playButtonClickSound() {
         if (buttonClickSound != null) {
-            buttonClickSound.setFramePosition(0);
-            buttonClickSound.start();
+            buttonClickSound.play();
         }
     }
 
-    private void startFadeIn() {
+    private void startFadeIn(StreamingTrack music) {
         fadeAlpha = 1.0f;
         fadeTimer = new Timer(30, e -> {
             fadeAlpha = Math.max(0, fadeAlpha - 0.03f);
@@ -946,16 +1139,19 @@ public class MainGameScene extends JFrame {
                 ((Timer)e.getSource()).stop();
             }
         });
-        fadeTimer.start();
-        if (backgroundMusic != null) {
-            backgroundMusic.start();
-        }
+        PerformanceOverlay.track(fadeTimer).start();
+        music.play(true);
     }
 
     private void fadeOutToMainMenu() {
+        // Leaving mid-answer must not keep typing, clicking and advancing the game behind the menu
+        stopTyping();
+        speakingQueue.clear();
+        isSpeakingInProgress = false;
         if (resultLabel != null) {
-            getContentPane().remove(resultLabel);
+            remove(resultLabel);
             resultLabel = null;
+            chooseLabel = null;
         }
         fadeTimer = new Timer(30, e -> {
             fadeAlpha = Math.min(1, fadeAlpha + 0.03f);
@@ -963,29 +1159,23 @@ public class MainGameScene extends JFrame {
             if (fadeAlpha >= 1) {
                 ((Timer)e.getSource()).stop();
                 SwingUtilities.invokeLater(() -> {
-                    new MainMenu().setVisible(true);
-                    dispose();
+                    PhaseTimer.mark("MainGameScene.exitToMenu");
+                    stopAllSounds();
+                    AuxiliaryWindows.hideAll();
+                    replayLog.close();
+                    window.showMainMenu();
                 });
             }
         });
-        fadeTimer.start();
-        stopBackgroundMusic = true;
-        if (backgroundMusic != null) {
-            backgroundMusic.stop();
-        }
-        stopSuspenseMusic = true;
-        if (suspenseMusic != null) {
-            suspenseMusic.stop();
-        }
-        if (winSound != null) {
-            winSound.stop();
-        }
-        if (loseSound != null) {
-            loseSound.stop();
-        }
+        PerformanceOverlay.track(fadeTimer).start();
+        backgroundMusic.stop();
+        suspenseMusic.stop();
+        winSound.stop();
+        loseSound.stop();
     }
 
+    // Straight into a game, for trying out the scene
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> new MainGameScene("Medium", "3"));
+        Main.launch(window -> window.startGame("Medium", "3"));
     }
 }
\ No newline at end of file
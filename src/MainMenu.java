@@ -2,23 +2,23 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import javax.sound.sampled.*;
 
-public class MainMenu extends JFrame {
+public class MainMenu extends JPanel {
     private BufferedImage backgroundImage;
     private final Map<String, BufferedImage> buttonImages = new HashMap<>();
     private float fadeAlpha = 0.0f;
     private Timer fadeTimer;
-    private JPanel backgroundPanel;
-    private Clip backgroundMusic;
-    private Clip buttonClickSound;
+    private StreamingTrack backgroundMusic;
+    private SoundEffect buttonClickSound;
+    private final GameWindow window;
 
     private static final int ORIGINAL_WIDTH = 1225;
     private static final int ORIGINAL_HEIGHT = 818;
+    private static final int MUSIC_RESUME_FADE_MS = 1000;
 
     private static final String[] BUTTON_NAMES = {"Start Game", "Difficulty", "Num. Of Suspects", "Exit"};
     private static final int[][] BUTTON_SPECS = {
@@ -37,46 +37,22 @@ public class MainMenu extends JFrame {
     private boolean suspectsDropdownVisible = false;
     private JLabel difficultyLabel;
     private JLabel suspectsLabel;
+    private SessionSnapshot resumeSnapshot;
 
-    public MainMenu() {
-        setTitle("Behind The Lie: Crime Detective");
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+    public MainMenu(GameWindow window) {
+        this.window = window;
+        PhaseTimer.resetFirstPaint("MainMenu");
 
         // Load audio files
         try {
-            loadAudioFiles();
+            PhaseTimer.time("MainMenu.loadAudio", this::loadAudioFiles);
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, "Failed to load audio files: " + e.getMessage(), "Audio Error", JOptionPane.WARNING_MESSAGE);
         }
 
-        try {
-            backgroundImage = ImageIO.read(getClass().getClassLoader().getResource("Behind the Lie Crime Detective.png"));
-            buttonImages.put("Start Game", ImageIO.read(getClass().getClassLoader().getResource("Start Game.png")));
-            buttonImages.put("Difficulty", ImageIO.read(getClass().getClassLoader().getResource("Difficulty.png")));
-            buttonImages.put("Num. Of Suspects", ImageIO.read(getClass().getClassLoader().getResource("Num. Of Suspects.png")));
-            buttonImages.put("Exit", ImageIO.read(getClass().getClassLoader().getResource("Exit.png")));
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(this, "Failed to load images!", "Error", JOptionPane.ERROR_MESSAGE);
-            System.exit(1);
-        }
-
-        backgroundPanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-
-                g2d.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+        PhaseTimer.time("MainMenu.loadImages", this::loadImages);
 
-                if (fadeAlpha > 0.0f) {
-                    g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, fadeAlpha));
-                    g2d.setColor(Color.BLACK);
-                    g2d.fillRect(0, 0, getWidth(), getHeight());
-                }
-            }
-        };
-        backgroundPanel.setLayout(null);
-        setContentPane(backgroundPanel);
+        setLayout(null);
 
         for (int i = 0; i < buttons.length; i++) {
             final int index = i;
@@ -111,7 +87,7 @@ public class MainMenu extends JFrame {
             });
 
             buttons[i] = button;
-            backgroundPanel.add(button);
+            add(button);
         }
 
         createDropdowns();
@@ -119,7 +95,7 @@ public class MainMenu extends JFrame {
         createSelectionLabels();
 
         // Set button actions
-        buttons[0].addActionListener(e -> startFadeOut());
+        buttons[0].addActionListener(e -> startOrResume());
         buttons[1].addActionListener(e -> {
             difficultyDropdownVisible = !difficultyDropdownVisible;
             toggleDropdown(difficultyDropdown, 1, difficultyDropdownVisible);
@@ -130,7 +106,7 @@ public class MainMenu extends JFrame {
         });
         buttons[3].addActionListener(e -> System.exit(0));
 
-        backgroundPanel.addMouseListener(new MouseAdapter() {
+        addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
                 if (difficultyDropdownVisible && !difficultyDropdown.getBounds().contains(e.getPoint())) {
@@ -144,9 +120,6 @@ public class MainMenu extends JFrame {
             }
         });
 
-        setSize(ORIGINAL_WIDTH, ORIGINAL_HEIGHT);
-        setLocationRelativeTo(null);
-
         SwingUtilities.invokeLater(this::scaleButtons);
 
         addComponentListener(new ComponentAdapter() {
@@ -157,31 +130,63 @@ public class MainMenu extends JFrame {
         });
     }
 
-    private void loadAudioFiles() throws Exception {
-        AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(
-                getClass().getClassLoader().getResource("detective song.wav"));
-        backgroundMusic = AudioSystem.getClip();
-        backgroundMusic.open(audioInputStream);
+    private void loadImages() {
+        try {
+            backgroundImage = AssetPreloader.readImage("Behind the Lie Crime Detective.png");
+            buttonImages.put("Start Game", AssetPreloader.readImage("Start Game.png"));
+            buttonImages.put("Difficulty", AssetPreloader.readImage("Difficulty.png"));
+            buttonImages.put("Num. Of Suspects", AssetPreloader.readImage("Num. Of Suspects.png"));
+            buttonImages.put("Exit", AssetPreloader.readImage("Exit.png"));
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Failed to load images!", "Error", JOptionPane.ERROR_MESSAGE);
+            System.exit(1);
+        }
+    }
+
+    private void loadAudioFiles() {
+        backgroundMusic = new StreamingTrack("detective song.wav", AudioMixer.Bus.MUSIC);
+        backgroundMusic.play(true);
+
+        buttonClickSound = SoundBank.acquire("Main Click.wav");
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        long paintStart = System.nanoTime();
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+
+        g2d.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+
+        if (fadeAlpha > 0.0f) {
+            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, fadeAlpha));
+            g2d.setColor(Color.BLACK);
+            g2d.fillRect(0, 0, getWidth(), getHeight());
+        }
+        PerformanceOverlay.recordPaint(System.nanoTime() - paintStart);
+        PhaseTimer.firstPaint("MainMenu");
+    }
 
-        backgroundMusic.loop(Clip.LOOP_CONTINUOUSLY);
+    // Button specs were laid out against the window size rather than the content area
+    private int getLayoutWidth() {
+        Window ancestor = SwingUtilities.getWindowAncestor(this);
+        return ancestor != null ? ancestor.getWidth() : getWidth();
+    }
 
-        audioInputStream = AudioSystem.getAudioInputStream(
-                getClass().getClassLoader().getResource("Main Click.wav"));
-        buttonClickSound = AudioSystem.getClip();
-        buttonClickSound.open(audioInputStream);
+    private int getLayoutHeight() {
+        Window ancestor = SwingUtilities.getWindowAncestor(this);
+        return ancestor != null ? ancestor.getHeight() : getHeight();
     }
 
     private void playButtonClickSound() {
         if (buttonClickSound != null) {
-            buttonClickSound.setFramePosition(0); // Rewind to the beginning
-            buttonClickSound.start();
+            buttonClickSound.play();
         }
     }
 
-    private void stopBackgroundMusic() {
-        if (backgroundMusic != null && backgroundMusic.isRunning()) {
-            backgroundMusic.stop();
-        }
+    // Paused rather than stopped, so coming back from a game carries on with the song
+    private void pauseBackgroundMusic() {
+        backgroundMusic.pause();
     }
 
     private void createDropdowns() {
@@ -208,8 +213,8 @@ public class MainMenu extends JFrame {
             difficultyDropdown.add(btn);
         }
         difficultyDropdown.setVisible(false);
-        backgroundPanel.add(difficultyDropdown);
-        backgroundPanel.setComponentZOrder(difficultyDropdown, 0);
+        add(difficultyDropdown);
+        setComponentZOrder(difficultyDropdown, 0);
 
         suspectsDropdown = new JPanel();
         suspectsDropdown.setLayout(new GridLayout(3, 1, 0, 0));
@@ -234,8 +239,8 @@ public class MainMenu extends JFrame {
             suspectsDropdown.add(btn);
         }
         suspectsDropdown.setVisible(false);
-        backgroundPanel.add(suspectsDropdown);
-        backgroundPanel.setComponentZOrder(suspectsDropdown, 0);
+        add(suspectsDropdown);
+        setComponentZOrder(suspectsDropdown, 0);
     }
 
     private void createSelectionLabels() {
@@ -285,8 +290,8 @@ public class MainMenu extends JFrame {
         suspectsLabel.setBackground(new Color(0xF8ECD9));
         suspectsLabel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10)); // Just padding now
 
-        backgroundPanel.add(difficultyLabel);
-        backgroundPanel.add(suspectsLabel);
+        add(difficultyLabel);
+        add(suspectsLabel);
 
         updateSelectionLabels();
         scaleSelectionLabels();
@@ -321,15 +326,15 @@ public class MainMenu extends JFrame {
     }
 
     private void scaleSelectionLabels() {
-        if (getWidth() <= 0 || getHeight() <= 0) return;
+        if (getLayoutWidth() <= 0 || getLayoutHeight() <= 0) return;
 
-        int suspectsButtonX = (int)(BUTTON_SPECS[2][0] * getWidth() / (double)ORIGINAL_WIDTH);
-        int suspectsButtonY = (int)(BUTTON_SPECS[2][1] * getHeight() / (double)ORIGINAL_HEIGHT);
-        int suspectsButtonWidth = (int)(BUTTON_SPECS[2][2] * getWidth() / (double)ORIGINAL_WIDTH);
-        int suspectsButtonHeight = (int)(BUTTON_SPECS[2][3] * getHeight() / (double)ORIGINAL_HEIGHT);
+        int suspectsButtonX = (int)(BUTTON_SPECS[2][0] * getLayoutWidth() / (double)ORIGINAL_WIDTH);
+        int suspectsButtonY = (int)(BUTTON_SPECS[2][1] * getLayoutHeight() / (double)ORIGINAL_HEIGHT);
+        int suspectsButtonWidth = (int)(BUTTON_SPECS[2][2] * getLayoutWidth() / (double)ORIGINAL_WIDTH);
+        int suspectsButtonHeight = (int)(BUTTON_SPECS[2][3] * getLayoutHeight() / (double)ORIGINAL_HEIGHT);
 
-        int exitButtonY = (int)(BUTTON_SPECS[3][1] * getHeight() / (double)ORIGINAL_HEIGHT);
-        int exitButtonHeight = (int)(BUTTON_SPECS[3][3] * getHeight() / (double)ORIGINAL_HEIGHT);
+        int exitButtonY = (int)(BUTTON_SPECS[3][1] * getLayoutHeight() / (double)ORIGINAL_HEIGHT);
+        int exitButtonHeight = (int)(BUTTON_SPECS[3][3] * getLayoutHeight() / (double)ORIGINAL_HEIGHT);
 
         int labelWidth = suspectsButtonWidth / 2 - 10;
         int labelHeight = suspectsButtonHeight / 2;
@@ -382,7 +387,7 @@ public class MainMenu extends JFrame {
         }
 
         if (show) {
-            backgroundPanel.setComponentZOrder(dropdown, 0);
+            setComponentZOrder(dropdown, 0);
             Point loc = buttons[buttonIndex].getLocation();
             dropdown.setBounds(loc.x, loc.y + buttons[buttonIndex].getHeight(),
                     buttons[buttonIndex].getWidth(), buttons[buttonIndex].getHeight() * 3);
@@ -393,16 +398,16 @@ public class MainMenu extends JFrame {
     }
 
     private void subtlyGrow(JButton button, int index, double scale) {
-        int baseWidth = (int)(BUTTON_SPECS[index][2] * getWidth() / (double)ORIGINAL_WIDTH);
-        int baseHeight = (int)(BUTTON_SPECS[index][3] * getHeight() / (double)ORIGINAL_HEIGHT);
+        int baseWidth = (int)(BUTTON_SPECS[index][2] * getLayoutWidth() / (double)ORIGINAL_WIDTH);
+        int baseHeight = (int)(BUTTON_SPECS[index][3] * getLayoutHeight() / (double)ORIGINAL_HEIGHT);
 
         int newWidth = (int)(baseWidth * scale);
         int newHeight = (int)(baseHeight * scale);
 
         if (newWidth <= 0 || newHeight <= 0) return;
 
-        int x = (int)(BUTTON_SPECS[index][0] * getWidth() / (double)ORIGINAL_WIDTH);
-        int y = (int)(BUTTON_SPECS[index][1] * getHeight() / (double)ORIGINAL_HEIGHT);
+        int x = (int)(BUTTON_SPECS[index][0] * getLayoutWidth() / (double)ORIGINAL_WIDTH);
+        int y = (int)(BUTTON_SPECS[index][1] * getLayoutHeight() / (double)ORIGINAL_HEIGHT);
 
         int newX = x - (newWidth - baseWidth) / 2;
         int newY = y - (newHeight - baseHeight) / 2;
@@ -417,13 +422,13 @@ public class MainMenu extends JFrame {
     }
 
     private void scaleButtons() {
-        if (getWidth() <= 0 || getHeight() <= 0) return;
+        if (getLayoutWidth() <= 0 || getLayoutHeight() <= 0) return;
 
         for (int i = 0; i < buttons.length; i++) {
-            int x = (int)(BUTTON_SPECS[i][0] * getWidth() / (double)ORIGINAL_WIDTH);
-            int y = (int)(BUTTON_SPECS[i][1] * getHeight() / (double)ORIGINAL_HEIGHT);
-            int width = (int)(BUTTON_SPECS[i][2] * getWidth() / (double)ORIGINAL_WIDTH);
-            int height = (int)(BUTTON_SPECS[i][3] * getHeight() / (double)ORIGINAL_HEIGHT);
+            int x = (int)(BUTTON_SPECS[i][0] * getLayoutWidth() / (double)ORIGINAL_WIDTH);
+            int y = (int)(BUTTON_SPECS[i][1] * getLayoutHeight() / (double)ORIGINAL_HEIGHT);
+            int width = (int)(BUTTON_SPECS[i][2] * getLayoutWidth() / (double)ORIGINAL_WIDTH);
+            int height = (int)(BUTTON_SPECS[i][3] * getLayoutHeight() / (double)ORIGINAL_HEIGHT);
 
             if (width <= 0 || height <= 0) continue;
 
@@ -437,13 +442,32 @@ public class MainMenu extends JFrame {
         }
     }
 
+    // The saved game was read in the background at startup, asking about it never waits on the disk
+    private void startOrResume() {
+        resumeSnapshot = null;
+        SessionSnapshot saved = SessionStore.get().getSaved();
+        if (saved != null) {
+            int choice = JOptionPane.showConfirmDialog(this,
+                    "You left a case unfinished in round " + saved.round + ". Resume it?",
+                    "Unfinished Case", JOptionPane.YES_NO_CANCEL_OPTION);
+            if (choice == JOptionPane.YES_OPTION) {
+                resumeSnapshot = saved;
+            } else if (choice == JOptionPane.NO_OPTION) {
+                SessionStore.get().clear();
+            } else {
+                return;
+            }
+        }
+        startFadeOut();
+    }
+
     private void startFadeOut() {
         difficultyDropdownVisible = false;
         suspectsDropdownVisible = false;
         difficultyDropdown.setVisible(false);
         suspectsDropdown.setVisible(false);
 
-        stopBackgroundMusic();
+        pauseBackgroundMusic();
 
         fadeAlpha = 0.0f;
         fadeTimer = new Timer(50, null);
@@ -466,28 +490,30 @@ public class MainMenu extends JFrame {
                 suspectsLabel.repaint();
             }
         });
-        fadeTimer.start();
+        PerformanceOverlay.track(fadeTimer).start();
     }
 
     private void startGame() {
         if (fadeTimer != null) fadeTimer.stop();
-        stopBackgroundMusic();
+        pauseBackgroundMusic();
 
         SwingUtilities.invokeLater(() -> {
-            MainGameScene gameScene = new MainGameScene(currentDifficulty, currentSuspects);
-            dispose();
-            gameScene.setVisible(true);
+            PhaseTimer.mark("MainMenu.startGame");
+            if (resumeSnapshot != null) {
+                window.resumeGame(resumeSnapshot);
+            } else {
+                window.startGame(currentDifficulty, currentSuspects);
+            }
         });
     }
 
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> {
-            MainMenu menu = new MainMenu();
-            menu.setVisible(true);
-        });
+        Main.launch(GameWindow::showMainMenu);
     }
 
     public void startFadeInFromGame() {
+        PhaseTimer.resetFirstPaint("MainMenu");
+        backgroundMusic.resume(true, MUSIC_RESUME_FADE_MS);
         fadeAlpha = 1.0f; // Start fully black
         fadeTimer = new Timer(30, new ActionListener() {
             @Override
@@ -507,6 +533,6 @@ public class MainMenu extends JFrame {
                 if (suspectsLabel != null) suspectsLabel.repaint();
             }
         });
-        fadeTimer.start();
+        PerformanceOverlay.track(fadeTimer).start();
     }
 }
\ No newline at end of file
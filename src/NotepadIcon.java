@@ -2,7 +2,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
 import java.io.IOException;
 import javax.sound.sampled.*;
 
@@ -14,7 +13,7 @@ public class NotepadIcon extends JButton {
     private int baseWidth, baseHeight;
     private int originalX, originalY;
     private MainGameScene parentFrame;
-    private Clip notepadSound;
+    private SoundEffect notepadSound;
 
     public NotepadIcon(int x, int y, int width, int height, MainGameScene parent) {
         this.originalX = x;
@@ -23,13 +22,10 @@ public class NotepadIcon extends JButton {
         this.baseHeight = height;
         this.parentFrame = parent;
 
-        try {
-            iconImage = ImageIO.read(getClass().getResource("notepad.png"));
+        notepadSound = SoundBank.acquire("notepad.wav");
 
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(
-                    getClass().getResource("notepad.wav"));
-            notepadSound = AudioSystem.getClip();
-            notepadSound.open(audioInputStream);
+        try {
+            iconImage = AssetPreloader.readImage("notepad.png");
         } catch (Exception e) {
             e.printStackTrace();
             iconImage = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
@@ -64,8 +60,7 @@ public class NotepadIcon extends JButton {
 
     private void playNotepadSound() {
         if (notepadSound != null) {
-            notepadSound.setFramePosition(0);
-            notepadSound.start();
+            notepadSound.play();
         }
     }
 
@@ -82,7 +77,7 @@ public class NotepadIcon extends JButton {
                 growTimer.stop();
             }
         });
-        growTimer.start();
+        PerformanceOverlay.track(growTimer).start();
     }
 
     private void applyButtonScale() {
@@ -98,54 +93,14 @@ public class NotepadIcon extends JButton {
     }
 
     private void openNotepadWindow() {
-        JFrame notepadWindow = new JFrame("Notepad");
-        notepadWindow.setSize(400, 350);
-        notepadWindow.setLocationRelativeTo(null);
-
-        Point mainWindowLoc = getParent().getLocationOnScreen();
-        notepadWindow.setLocation(mainWindowLoc.x + getParent().getWidth(), mainWindowLoc.y);
-
-        JTextArea textArea = new JTextArea();
-        textArea.setFont(new Font("Arial", Font.PLAIN, 14)); // Default font size
-        textArea.setLineWrap(true);
-        textArea.setWrapStyleWord(true);
-
-        JScrollPane scrollPane = new JScrollPane(textArea);
-        notepadWindow.add(scrollPane);
-
-        JPanel controlPanel = new JPanel();
-        JButton increaseFontButton = new JButton("Size(+)");
-        JButton decreaseFontButton = new JButton("Size(-)");
-
-        increaseFontButton.addActionListener(e -> {
-            Font currentFont = textArea.getFont();
-            textArea.setFont(new Font(currentFont.getName(), currentFont.getStyle(), currentFont.getSize() + 1));
-        });
-
-        decreaseFontButton.addActionListener(e -> {
-            Font currentFont = textArea.getFont();
-            if (currentFont.getSize() > 8) { // Minimum font size
-                textArea.setFont(new Font(currentFont.getName(), currentFont.getStyle(), currentFont.getSize() - 1));
-            }
-        });
-
-        controlPanel.add(decreaseFontButton);
-        controlPanel.add(increaseFontButton);
-
-        notepadWindow.add(controlPanel, BorderLayout.NORTH);
-        notepadWindow.add(scrollPane, BorderLayout.CENTER);
-
-        notepadWindow.addWindowListener(new WindowAdapter() {
-            @Override
-            public void windowClosed(WindowEvent e) {
-                if (notepadSound != null && notepadSound.isRunning()) {
-                    notepadSound.stop();
-                }
-            }
-        });
+        // The notes live in the store, so they are still there after the window is closed
+        AuxiliaryWindows.showNotepad(getParent(), this::stopNotepadSound);
+    }
 
-        notepadWindow.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        notepadWindow.setVisible(true);
+    private void stopNotepadSound() {
+        if (notepadSound != null && notepadSound.isPlaying()) {
+            notepadSound.stop();
+        }
     }
 
     @Override
@@ -172,4 +127,12 @@ public class NotepadIcon extends JButton {
         this.baseHeight = height;
         setBounds(originalX, originalY, width, height);
     }
+
+    public void setNotes(NotepadStore.Notes notes) {
+        AuxiliaryWindows.setNotes(notes);
+    }
+
+    public void stopSounds() {
+        SoundBank.stop(notepadSound);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,375 @@
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.PlainDocument;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+// The player's notes for the game in progress. The notepad edits a Document kept here, so reopening it
+// shows the notes straight away. Edits are journaled write-behind: typing only queues the change, the io
+// thread appends a batch of them a moment later and rewrites the journal as one snapshot once it grows.
+// Only the latest session keeps its notes, it is the only one that can still be resumed.
+public class NotepadStore {
+    private static final Path NOTES_DIR = Paths.get(System.getProperty("btl.notes.dir", "notes"));
+    private static final String SUFFIX = ".btlnotes";
+    private static final NotepadStore INSTANCE = new NotepadStore();
+
+    private static final int FLUSH_DELAY_MS = 1000;
+    private static final int COMPACT_AFTER_EDITS = 500;
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    static final byte SNAPSHOT = 'S';
+    static final byte INSERT = 'I';
+    static final byte REMOVE = 'R';
+
+    private final ScheduledExecutorService io = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "NotepadStore-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Notes current;
+
+    private NotepadStore() {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                io.submit(() -> {
+                    if (current != null) {
+                        current.writePending();
+                    }
+                }).get(1, TimeUnit.SECONDS);
+            } catch (Exception ignored) {
+            }
+        }, "NotepadStore-flush"));
+    }
+
+    public static NotepadStore get() {
+        return INSTANCE;
+    }
+
+    // Called on the EDT when a game starts or is resumed
+    public synchronized Notes open(String sessionKey) {
+        if (current != null && current.key.equals(sessionKey)) {
+            return current;
+        }
+        Notes previous = current;
+        Notes notes = new Notes(sessionKey);
+        current = notes;
+        io.execute(() -> {
+            if (previous != null) {
+                previous.close();
+            }
+            deleteOtherSessions(notes.file);
+            notes.load();
+        });
+        return notes;
+    }
+
+    private static void deleteOtherSessions(Path keep) {
+        if (!Files.isDirectory(NOTES_DIR)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(NOTES_DIR, "*" + SUFFIX)) {
+            for (Path file : files) {
+                if (!file.equals(keep)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not clear old notes: " + e.getMessage());
+        }
+    }
+
+    public class Notes {
+        private final String key;
+        private final Path file;
+        private final PlainDocument document = new PlainDocument();
+        private volatile boolean loaded = false;
+        private final List<Runnable> onLoaded = new ArrayList<>();
+
+        // Edits waiting for the io thread, guarded by this
+        private List<Edit> pending = new ArrayList<>();
+        private boolean flushScheduled = false;
+
+        // Owned by the io thread: the notes as the journal has them, and the journal itself
+        private final StringBuilder persisted = new StringBuilder();
+        private FileChannel journal;
+        private int journalEdits;
+        private boolean closed = false;
+
+        Notes(String key) {
+            this.key = key;
+            this.file = NOTES_DIR.resolve(key + SUFFIX);
+            document.addDocumentListener(new DocumentListener() {
+                @Override
+                public void insertUpdate(DocumentEvent e) {
+                    try {
+                        queue(INSERT, e.getOffset(), document.getText(e.getOffset(), e.getLength()));
+                    } catch (BadLocationException ex) {
+                        ex.printStackTrace();
+                    }
+                }
+
+                @Override
+                public void removeUpdate(DocumentEvent e) {
+                    queue(REMOVE, e.getOffset(), e.getLength());
+                }
+
+                @Override
+                public void changedUpdate(DocumentEvent e) {
+                }
+            });
+        }
+
+        public Document getDocument() {
+            return document;
+        }
+
+        public boolean isLoaded() {
+            return loaded;
+        }
+
+        // Runs on the EDT once the saved notes are in the document, straight away if they already are
+        public void whenLoaded(Runnable action) {
+            if (loaded) {
+                action.run();
+            } else {
+                onLoaded.add(action);
+            }
+        }
+
+        private void queue(byte type, int offset, Object value) {
+            if (!loaded) {
+                // The loaded notes going into the document, already on disk
+                return;
+            }
+            synchronized (this) {
+                Edit last = pending.isEmpty() ? null : pending.get(pending.size() - 1);
+                if (last == null || !last.merge(type, offset, value)) {
+                    pending.add(type == INSERT
+                            ? new Edit(INSERT, offset, (String) value, 0)
+                            : new Edit(REMOVE, offset, null, (Integer) value));
+                }
+                if (flushScheduled) {
+                    return;
+                }
+                flushScheduled = true;
+            }
+            io.schedule(this::writePending, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+
+        // io thread
+        private void load() {
+            if (Files.isRegularFile(file)) {
+                long validLength = 0;
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                    byte[] payload;
+                    while ((payload = readRecord(in)) != null) {
+                        apply(persisted, payload);
+                        validLength += 4 + payload.length + 4;
+                        journalEdits++;
+                    }
+                } catch (IOException e) {
+                    System.err.println("Notes journal unreadable, keeping what was read: " + e.getMessage());
+                }
+                try {
+                    // A torn last record, or a long history, is replaced by one snapshot
+                    if (Files.size(file) > validLength || journalEdits > COMPACT_AFTER_EDITS) {
+                        compact();
+                    }
+                } catch (IOException e) {
+                    System.err.println("Could not compact notes: " + e.getMessage());
+                }
+            }
+            String text = persisted.toString();
+            SwingUtilities.invokeLater(() -> {
+                try {
+                    document.insertString(0, text, null);
+                } catch (BadLocationException e) {
+                    e.printStackTrace();
+                }
+                loaded = true;
+                for (Runnable action : onLoaded) {
+                    action.run();
+                }
+                onLoaded.clear();
+            });
+        }
+
+        // io thread, one write for everything typed since the last flush
+        private void writePending() {
+            List<Edit> batch;
+            synchronized (this) {
+                batch = pending;
+                pending = new ArrayList<>();
+                flushScheduled = false;
+            }
+            if (batch.isEmpty() || closed) {
+                return;
+            }
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(bytes);
+                for (Edit edit : batch) {
+                    byte[] payload = edit.encode();
+                    apply(persisted, payload);
+                    writeRecord(out, payload);
+                }
+                if (journalEdits + batch.size() > COMPACT_AFTER_EDITS) {
+                    compact();
+                } else {
+                    append(bytes.toByteArray());
+                    journalEdits += batch.size();
+                }
+            } catch (IOException e) {
+                System.err.println("Could not save notes: " + e.getMessage());
+            }
+        }
+
+        private void append(byte[] records) throws IOException {
+            if (journal == null) {
+                Files.createDirectories(NOTES_DIR);
+                journal = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(records);
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+        }
+
+        // Replaces the journal with a single snapshot of the notes, written aside and moved into place
+        private void compact() throws IOException {
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+            Files.createDirectories(NOTES_DIR);
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                writeRecord(out, new Edit(SNAPSHOT, 0, persisted.toString(), 0).encode());
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            journalEdits = 1;
+        }
+
+        private void close() {
+            writePending();
+            closed = true;
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (IOException ignored) {
+                }
+                journal = null;
+            }
+        }
+    }
+
+    // One change to the notes. Typing a word or holding backspace is merged into a single edit.
+    private static class Edit {
+        final byte type;
+        int offset;
+        String text;
+        int length;
+
+        Edit(byte type, int offset, String text, int length) {
+            this.type = type;
+            this.offset = offset;
+            this.text = text;
+            this.length = length;
+        }
+
+        boolean merge(byte nextType, int nextOffset, Object value) {
+            if (type == INSERT && nextType == INSERT && nextOffset == offset + text.length()) {
+                text = text + value;
+                return true;
+            }
+            if (type == REMOVE && nextType == REMOVE) {
+                int nextLength = (Integer) value;
+                if (nextOffset + nextLength == offset) {
+                    offset = nextOffset;
+                    length += nextLength;
+                    return true;
+                }
+                if (nextOffset == offset) {
+                    length += nextLength;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        byte[] encode() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(type);
+            out.writeInt(offset);
+            if (type == REMOVE) {
+                out.writeInt(length);
+            } else {
+                byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(utf8.length);
+                out.write(utf8);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    static void apply(StringBuilder notes, byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        int offset = Math.min(Math.max(0, in.readInt()), notes.length());
+        int length = in.readInt();
+        if (type == REMOVE) {
+            notes.delete(offset, Math.min(notes.length(), offset + length));
+            return;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        String text = new String(utf8, StandardCharsets.UTF_8);
+        if (type == SNAPSHOT) {
+            notes.setLength(0);
+            notes.append(text);
+        } else if (type == INSERT) {
+            notes.insert(offset, text);
+        } else {
+            throw new IOException("Unknown notes record " + type);
+        }
+    }
+
+    // Framed as length, payload, CRC32 so a record cut short by a crash is recognised and dropped
+    static void writeRecord(DataOutputStream out, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.writeInt((int) crc.getValue());
+    }
+
+    static byte[] readRecord(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            if (length <= 0 || length > MAX_RECORD_BYTES) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            int expected = in.readInt();
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            return (int) crc.getValue() == expected ? payload : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PerformanceOverlay extends JComponent {
+    private static final String TOGGLE_KEY = "F3";
+    private static final String TOGGLE_ACTION = "togglePerformanceOverlay";
+    private static final int REFRESH_DELAY = 1000; // ms between overlay updates
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private static final int BOX_WIDTH = 230;
+    private static final int BOX_HEIGHT = 112;
+    private static final int BOX_MARGIN = 10;
+    private static final int BOX_TOP = 110;
+    private static final Font OVERLAY_FONT = new Font("Monospaced", Font.PLAIN, 13);
+    private static final Color OVERLAY_BG_COLOR = new Color(0, 0, 0, 170);
+    private static final Color OVERLAY_TEXT_COLOR = new Color(144, 238, 144);
+
+    // Shared by every window, all counters are only touched on the EDT except repaint requests
+    private static boolean enabled = Boolean.getBoolean("btl.overlay");
+    private static final Set<Timer> trackedTimers = Collections.newSetFromMap(new WeakHashMap<>());
+    private static final AtomicInteger repaintRequests = new AtomicInteger();
+    private static boolean repaintCounterInstalled = false;
+    private static long windowStart = System.nanoTime();
+    private static int framesInWindow = 0;
+    private static int framesPerSecond = 0;
+    private static int repaintsPerSecond = 0;
+    private static long lastPaintNanos = 0;
+    private static long worstPaintNanos = 0;
+
+    private final Timer refreshTimer;
+
+    private PerformanceOverlay() {
+        setOpaque(false);
+        refreshTimer = new Timer(REFRESH_DELAY, e -> {
+            rollWindow(System.nanoTime());
+            repaint(getBoxX(), BOX_TOP, BOX_WIDTH, BOX_HEIGHT);
+        });
+    }
+
+    public static void install(JFrame frame) {
+        installRepaintCounter();
+
+        PerformanceOverlay overlay = new PerformanceOverlay();
+        frame.setGlassPane(overlay);
+        overlay.setOverlayVisible(enabled);
+
+        JRootPane rootPane = frame.getRootPane();
+        rootPane.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
+                .put(KeyStroke.getKeyStroke(TOGGLE_KEY), TOGGLE_ACTION);
+        rootPane.getActionMap().put(TOGGLE_ACTION, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                enabled = !enabled;
+                worstPaintNanos = 0;
+                overlay.setOverlayVisible(enabled);
+            }
+        });
+
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                overlay.refreshTimer.stop();
+            }
+        });
+    }
+
+    public static void recordPaint(long durationNanos) {
+        lastPaintNanos = durationNanos;
+        worstPaintNanos = Math.max(worstPaintNanos, durationNanos);
+        framesInWindow++;
+        rollWindow(System.nanoTime());
+    }
+
+    public static Timer track(Timer timer) {
+        trackedTimers.add(timer);
+        return timer;
+    }
+
+    private static int countActiveTimers() {
+        int active = 0;
+        for (Timer timer : trackedTimers) {
+            if (timer.isRunning()) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    private static void rollWindow(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed < WINDOW_NANOS) {
+            return;
+        }
+        framesPerSecond = (int) (framesInWindow * WINDOW_NANOS / elapsed);
+        repaintsPerSecond = (int) (repaintRequests.getAndSet(0) * WINDOW_NANOS / elapsed);
+        framesInWindow = 0;
+        windowStart = now;
+    }
+
+    private static void installRepaintCounter() {
+        if (repaintCounterInstalled) {
+            return;
+        }
+        repaintCounterInstalled = true;
+        RepaintManager.setCurrentManager(new RepaintManager() {
+            @Override
+            public void addDirtyRegion(JComponent c, int x, int y, int w, int h) {
+                repaintRequests.incrementAndGet();
+                super.addDirtyRegion(c, x, y, w, h);
+            }
+        });
+    }
+
+    private void setOverlayVisible(boolean visible) {
+        setVisible(visible);
+        if (visible) {
+            refreshTimer.start();
+        } else {
+            refreshTimer.stop();
+        }
+    }
+
+    private int getBoxX() {
+        return getWidth() - BOX_WIDTH - BOX_MARGIN;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g.create();
+        int boxX = getBoxX();
+
+        g2d.setColor(OVERLAY_BG_COLOR);
+        g2d.fillRect(boxX, BOX_TOP, BOX_WIDTH, BOX_HEIGHT);
+
+        Runtime runtime = Runtime.getRuntime();
+        long usedHeap = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+        long maxHeap = runtime.maxMemory() >> 20;
+
+        g2d.setFont(OVERLAY_FONT);
+        g2d.setColor(OVERLAY_TEXT_COLOR);
+        int lineHeight = g2d.getFontMetrics().getHeight();
+        int textX = boxX + 8;
+        int textY = BOX_TOP + lineHeight;
+        g2d.drawString("FPS:      " + framesPerSecond, textX, textY);
+        g2d.drawString("Paint:    " + formatMillis(lastPaintNanos) + " ms", textX, textY += lineHeight);
+        g2d.drawString("Worst:    " + formatMillis(worstPaintNanos) + " ms", textX, textY += lineHeight);
+        g2d.drawString("Repaints: " + repaintsPerSecond + "/s", textX, textY += lineHeight);
+        g2d.drawString("Timers:   " + countActiveTimers(), textX, textY += lineHeight);
+        g2d.drawString("Heap:     " + usedHeap + "/" + maxHeap + " MB", textX, textY += lineHeight);
+
+        g2d.dispose();
+    }
+
+    private static String formatMillis(long nanos) {
+        long hundredths = nanos / 10_000;
+        return (hundredths / 100) + "." + (hundredths % 100 < 10 ? "0" : "") + (hundredths % 100);
+    }
+}
@@ -0,0 +1,146 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+
+public class PhaseTimer {
+    // All offsets are relative to JVM start, measured with System.nanoTime
+    private static final long JVM_START_NANOS;
+
+    static {
+        long uptimeNanos = ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L;
+        JVM_START_NANOS = System.nanoTime() - uptimeNanos;
+    }
+
+    private static final List<Record> records = new ArrayList<>();
+    private static final Set<String> firstPaints = new HashSet<>();
+    private static boolean reportHookInstalled = false;
+
+    private static class Record {
+        final String name;
+        final String thread;
+        final long startNanos;
+        final long endNanos;
+
+        Record(String name, String thread, long startNanos, long endNanos) {
+            this.name = name;
+            this.thread = thread;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+    }
+
+    // For a phase that ends somewhere else, like a callback. Use time for a block of code.
+    public static class Phase implements AutoCloseable {
+        private final String name;
+        private final long startNanos = System.nanoTime();
+
+        private Phase(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void close() {
+            record(name, startNanos, System.nanoTime());
+        }
+    }
+
+    private PhaseTimer() {
+    }
+
+    public static Phase begin(String name) {
+        return new Phase(name);
+    }
+
+    public static void time(String name, Runnable task) {
+        long start = System.nanoTime();
+        try {
+            task.run();
+        } finally {
+            record(name, start, System.nanoTime());
+        }
+    }
+
+    public static <T> T time(String name, Supplier<T> task) {
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            record(name, start, System.nanoTime());
+        }
+    }
+
+    public static void mark(String name) {
+        long now = System.nanoTime();
+        record(name, now, now);
+    }
+
+    // Records the first paint of a scene, later paints are ignored
+    public static void firstPaint(String scene) {
+        synchronized (records) {
+            if (!firstPaints.add(scene)) {
+                return;
+            }
+        }
+        mark(scene + ".firstPaint");
+    }
+
+    public static void resetFirstPaint(String scene) {
+        synchronized (records) {
+            firstPaints.remove(scene);
+        }
+    }
+
+    private static void record(String name, long startNanos, long endNanos) {
+        synchronized (records) {
+            records.add(new Record(name, Thread.currentThread().getName(), startNanos, endNanos));
+        }
+    }
+
+    // Called once from main, records JVM boot and writes the report on exit if -Dbtl.timing.report is set
+    public static synchronized void start() {
+        if (reportHookInstalled) {
+            return;
+        }
+        reportHookInstalled = true;
+        record("jvm.boot", JVM_START_NANOS, System.nanoTime());
+
+        String reportPath = System.getProperty("btl.timing.report");
+        if (reportPath != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> writeReport(reportPath), "Phase Report"));
+        }
+    }
+
+    // One tab-separated line per phase: name, start ms, duration ms, thread
+    public static String report() {
+        StringBuilder report = new StringBuilder("phase\tstart_ms\tduration_ms\tthread\n");
+        synchronized (records) {
+            for (Record record : records) {
+                report.append(record.name).append('\t')
+                        .append(formatMillis(record.startNanos - JVM_START_NANOS)).append('\t')
+                        .append(formatMillis(record.endNanos - record.startNanos)).append('\t')
+                        .append(record.thread).append('\n');
+            }
+        }
+        return report.toString();
+    }
+
+    private static void writeReport(String path) {
+        try {
+            Files.write(Paths.get(path), report().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.err.println("Failed to write phase report to " + path + ": " + e.getMessage());
+        }
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,12 @@
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// A simulated player's reasoning, picks who to accuse from everything the suspects said
+public interface PlayerHeuristic {
+    String getName();
+
+    // testimony holds one entry per answered question for every suspect
+    String accuse(ScenarioDataReader.Scenario scenario, List<String> suspects,
+                  Map<String, List<String>> testimony, Random random);
+}
@@ -0,0 +1,41 @@
+import javax.swing.*;
+import java.awt.*;
+
+public class PreloadSplash extends JWindow {
+    private static final Color SPLASH_BG_COLOR = new Color(248, 236, 217);
+    private static final Color SPLASH_BORDER_COLOR = new Color(68, 39, 12);
+
+    private final JProgressBar progressBar;
+
+    public PreloadSplash() {
+        JPanel content = new JPanel(new BorderLayout(0, 10));
+        content.setBackground(SPLASH_BG_COLOR);
+        content.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(SPLASH_BORDER_COLOR, 2),
+                BorderFactory.createEmptyBorder(15, 20, 15, 20)
+        ));
+
+        JLabel title = new JLabel("Behind The Lie: Crime Detective", SwingConstants.CENTER);
+        title.setFont(new Font("Arial", Font.BOLD, 18));
+        title.setForeground(SPLASH_BORDER_COLOR);
+        content.add(title, BorderLayout.NORTH);
+
+        progressBar = new JProgressBar(0, 1);
+        progressBar.setStringPainted(true);
+        progressBar.setString("Loading...");
+        content.add(progressBar, BorderLayout.CENTER);
+
+        setContentPane(content);
+        setSize(400, 100);
+        setLocationRelativeTo(null);
+    }
+
+    // Safe to call from any thread
+    public void setProgress(int completed, int total) {
+        SwingUtilities.invokeLater(() -> {
+            progressBar.setMaximum(total);
+            progressBar.setValue(completed);
+            progressBar.setString("Loading " + completed + " / " + total);
+        });
+    }
+}
@@ -0,0 +1,160 @@
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+// Records a seeded game as the seed plus every player input, one small file per game.
+// Format: header (magic, version, seed, difficulty, suspect count, character order, scenario id),
+// then one record per input: opcode byte, milliseconds since the previous input as a varint, argument byte.
+public class ReplayLog implements GameListener {
+    static final int MAGIC = 0x42544C52; // "BTLR"
+    static final int VERSION = 1;
+
+    static final int ASK = 1;
+    static final int ANSWERS_HEARD = 2;
+    static final int NEXT_ROUND = 3;
+    static final int ACCUSE = 4;
+
+    private static final Path REPLAY_DIR = Paths.get(System.getProperty("btl.replay.dir", "replays"));
+    private static final boolean ENABLED = !Boolean.getBoolean("btl.replay.disabled");
+
+    private final GameEngine engine;
+    private DataOutputStream out;
+    private Path file;
+    private long lastEventNanos;
+    private boolean writeFailureReported = false;
+
+    public ReplayLog(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public void gameStarted(ScenarioDataReader.Scenario scenario, List<String> suspects, String imposter) {
+        close();
+        if (!ENABLED || engine.getDifficulty() == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(REPLAY_DIR);
+            file = REPLAY_DIR.resolve(System.currentTimeMillis() + "-" + Long.toHexString(engine.getSeed()) + ".btlr");
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(engine.getSeed());
+            out.writeUTF(engine.getDifficulty());
+            out.writeByte(engine.getRequestedSuspects());
+            List<String> characters = engine.getCharacters();
+            out.writeByte(characters.size());
+            for (String character : characters) {
+                out.writeUTF(character);
+            }
+            out.writeUTF(scenario.id);
+            out.flush();
+            lastEventNanos = System.nanoTime();
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    // A resumed game can't be replayed from its seed, it stays unrecorded
+    @Override
+    public void gameResumed(ScenarioDataReader.Scenario scenario, List<String> suspects, String imposter) {
+        close();
+    }
+
+    @Override
+    public void questionAsked(ScenarioDataReader.Question question, List<GameEngine.Testimony> testimonies) {
+        write(ASK, engine.getRoundQuestions().indexOf(question));
+    }
+
+    @Override
+    public void roundFinished(int round) {
+        write(ANSWERS_HEARD, 0);
+    }
+
+    @Override
+    public void roundStarted(int round, List<ScenarioDataReader.Question> questions) {
+        // The first round starts with the game, every later one comes from the player pressing next
+        if (round > 1) {
+            write(NEXT_ROUND, 0);
+        }
+    }
+
+    @Override
+    public void accusationStarted() {
+        write(NEXT_ROUND, 0);
+    }
+
+    @Override
+    public void gameOver(boolean won, String accused, String imposter) {
+        write(ACCUSE, engine.getSuspects().indexOf(accused));
+        close();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void close() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                failed(e);
+            }
+            out = null;
+        }
+    }
+
+    // Flushed per input so a crash still leaves everything up to the last click on disk
+    private void write(int opcode, int argument) {
+        if (out == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        try {
+            out.writeByte(opcode);
+            writeVarInt(out, (int) Math.min(Integer.MAX_VALUE, (now - lastEventNanos) / 1_000_000L));
+            out.writeByte(argument);
+            out.flush();
+        } catch (IOException e) {
+            failed(e);
+        }
+        lastEventNanos = now;
+    }
+
+    private void failed(IOException e) {
+        if (!writeFailureReported) {
+            writeFailureReported = true;
+            System.err.println("Replay log not writable, games won't be recorded: " + e.getMessage());
+        }
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+            }
+            out = null;
+        }
+    }
+
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in replay");
+    }
+}
@@ -0,0 +1,127 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ResourceAccess {
+    private static final char BOM = '\uFEFF';
+
+    // One zip file system per jar, opened on first use and kept for the life of the app
+    private static final Map<URI, FileSystem> jarFileSystems = new ConcurrentHashMap<>();
+
+    private ResourceAccess() {
+    }
+
+    // Works for resources on disk (file:) and packaged inside a jar (jar:)
+    public static Path path(URL url) throws IOException {
+        URI uri;
+        try {
+            uri = url.toURI();
+        } catch (URISyntaxException e) {
+            throw new IOException("Bad resource URL: " + url, e);
+        }
+
+        if ("jar".equals(uri.getScheme())) {
+            String spec = uri.toString();
+            int separator = spec.indexOf("!/");
+            URI jar = URI.create(spec.substring(0, separator));
+            FileSystem fileSystem = jarFileSystems.computeIfAbsent(jar, ResourceAccess::openJar);
+            if (fileSystem == null) {
+                throw new IOException("Can't open " + jar);
+            }
+            return fileSystem.provider().getPath(uri);
+        }
+        return Paths.get(uri);
+    }
+
+    private static FileSystem openJar(URI jar) {
+        try {
+            return FileSystems.newFileSystem(jar, Map.of());
+        } catch (FileSystemAlreadyExistsException e) {
+            return FileSystems.getFileSystem(jar);
+        } catch (IOException e) {
+            System.err.println("Failed to open " + jar + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Files on disk are memory mapped, entries inside a jar are read once into a heap buffer
+    public static ByteBuffer read(URL url) throws IOException {
+        Path path = path(url);
+        if (path.getFileSystem() == FileSystems.getDefault()) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+
+        try (SeekableByteChannel channel = Files.newByteChannel(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    // Decodes as UTF-8 and drops a leading byte order mark
+    public static CharBuffer readText(URL url) throws IOException {
+        CharBuffer text = StandardCharsets.UTF_8.decode(read(url));
+        if (text.hasRemaining() && text.get(text.position()) == BOM) {
+            text.position(text.position() + 1);
+        }
+        return text;
+    }
+
+    public static InputStream asStream(ByteBuffer buffer) {
+        ByteBuffer source = buffer.duplicate();
+        return new InputStream() {
+            @Override
+            public int read() {
+                return source.hasRemaining() ? source.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) {
+                if (length == 0) {
+                    return 0;
+                }
+                if (!source.hasRemaining()) {
+                    return -1;
+                }
+                int count = Math.min(length, source.remaining());
+                source.get(bytes, offset, count);
+                return count;
+            }
+
+            @Override
+            public int available() {
+                return source.remaining();
+            }
+
+            // AudioSystem and ImageIO sniff the header and rewind
+            @Override
+            public boolean markSupported() {
+                return true;
+            }
+
+            @Override
+            public synchronized void mark(int readLimit) {
+                source.mark();
+            }
+
+            @Override
+            public synchronized void reset() {
+                source.reset();
+            }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+public class SampleVoice extends AudioMixer.Voice {
+    private final short[] samples;
+    private int position = 0; // in frames, only touched on the mixer thread
+
+    public SampleVoice(short[] samples, AudioMixer.Bus bus) {
+        super(bus);
+        this.samples = samples;
+    }
+
+    // Restarts from the beginning, even if the voice is still playing
+    public void play() {
+        restart();
+    }
+
+    @Override
+    protected void rewind() {
+        position = 0;
+    }
+
+    @Override
+    protected int render(short[] buffer, int frames) {
+        int start = position;
+        int available = samples.length / AudioMixer.CHANNELS - start;
+        int produced = Math.max(0, Math.min(frames, available));
+        System.arraycopy(samples, start * AudioMixer.CHANNELS, buffer, 0, produced * AudioMixer.CHANNELS);
+        position = start + produced;
+        return produced;
+    }
+}
@@ -1,29 +1,47 @@
 import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.CharArrayReader;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.net.URL;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Random;
 
+// Nothing changes after loading, so one reader can be shared by any number of games and threads
 public class ScenarioDataReader {
-    private static final String CSV_FILE = "src/Master Scenarios FINALLLL REAL.csv";
     private List<Scenario> scenarios;
+    private Map<String, List<Scenario>> scenariosByDifficulty = Collections.emptyMap();
+    private Map<String, Scenario> scenariosById = Collections.emptyMap();
     private Random random;
 
     public ScenarioDataReader() {
+        this(AssetManifest.url(AssetManifest.SCENARIO_DATA));
+    }
+
+    // Reads another corpus in the same format, used by the benchmarks
+    public ScenarioDataReader(URL source) {
         this.scenarios = new ArrayList<>();
         this.random = new Random();
-        loadScenarios();
+        loadScenarios(source);
     }
 
-    private void loadScenarios() {
-        try (BufferedReader br = new BufferedReader(new FileReader(CSV_FILE))) {
+    private void loadScenarios(URL source) {
+        try {
+            if (source == null) {
+                throw new FileNotFoundException("Missing asset: " + AssetManifest.SCENARIO_DATA);
+            }
+            // Decoded straight from the mapped file or jar entry, so there is no BOM left on the first header
+            CharBuffer text = ResourceAccess.readText(source);
+            BufferedReader br = new BufferedReader(
+                    new CharArrayReader(text.array(), text.arrayOffset() + text.position(), text.remaining()));
             String line;
             String[] headers = null;
-            Map<String, Scenario> scenarioMap = new HashMap<>();
+            Map<String, Scenario> scenarioMap = new LinkedHashMap<>();
 
             while ((line = br.readLine()) != null) {
                 String[] values = parseCSVLine(line);
@@ -64,12 +82,25 @@ public class ScenarioDataReader {
             }
 
             scenarios = new ArrayList<>(scenarioMap.values());
+            indexScenarios();
         } catch (IOException e) {
             System.err.println("Error reading CSV file: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    private void indexScenarios() {
+        Map<String, List<Scenario>> index = new LinkedHashMap<>();
+        Map<String, Scenario> byId = new LinkedHashMap<>();
+        for (Scenario s : scenarios) {
+            index.computeIfAbsent(s.difficulty.toLowerCase(Locale.ROOT), d -> new ArrayList<>()).add(s);
+            byId.put(s.id, s);
+        }
+        index.replaceAll((difficulty, list) -> Collections.unmodifiableList(list));
+        scenariosByDifficulty = Collections.unmodifiableMap(index);
+        scenariosById = Collections.unmodifiableMap(byId);
+    }
+
     private String cleanString(String input) {
         return input.replace("\"", "").trim();
     }
@@ -84,7 +115,7 @@ public class ScenarioDataReader {
                 inQuotes = !inQuotes;
             } else if (c == ',' && !inQuotes) {
                 values.add(currentValue.toString());
-                currentValue = new StringBuilder();
+                currentValue.setLength(0);
             } else {
                 currentValue.append(c);
             }
@@ -93,19 +124,29 @@ public class ScenarioDataReader {
         return values.toArray(new String[0]);
     }
 
+    public List<Scenario> getScenarios() {
+        return Collections.unmodifiableList(scenarios);
+    }
+
+    public Scenario getScenario(String id) {
+        return scenariosById.get(id);
+    }
+
+    public boolean hasScenarios(String difficulty) {
+        return difficulty != null && scenariosByDifficulty.containsKey(difficulty.toLowerCase(Locale.ROOT));
+    }
+
     public Scenario getRandomScenario(String difficulty) {
+        return getRandomScenario(difficulty, random);
+    }
+
+    public Scenario getRandomScenario(String difficulty, Random random) {
         if (difficulty == null || difficulty.isEmpty()) {
             return null;
         }
 
-        List<Scenario> filtered = new ArrayList<>();
-        for (Scenario s : scenarios) {
-            if (s.difficulty.equalsIgnoreCase(difficulty)) {
-                filtered.add(s);
-            }
-        }
-
-        return filtered.isEmpty() ? null : filtered.get(random.nextInt(filtered.size()));
+        List<Scenario> filtered = scenariosByDifficulty.get(difficulty.toLowerCase(Locale.ROOT));
+        return filtered == null ? null : filtered.get(random.nextInt(filtered.size()));
     }
 
     public static class Scenario {
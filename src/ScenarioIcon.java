@@ -2,7 +2,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
 import java.io.IOException;
 import javax.sound.sampled.*;
 
@@ -14,9 +13,7 @@ public class ScenarioIcon extends JButton {
     private int baseWidth, baseHeight;
     private int originalX, originalY;
     private MainGameScene parentFrame;
-    private ScenarioDataReader.Scenario currentScenario;
-    private static JFrame scenarioWindow;
-    private Clip scenarioSound;
+    private SoundEffect scenarioSound;
 
     public ScenarioIcon(int x, int y, int width, int height, MainGameScene parent) {
         this.originalX = x;
@@ -25,13 +22,10 @@ public class ScenarioIcon extends JButton {
         this.baseHeight = height;
         this.parentFrame = parent;
 
-        try {
-            iconImage = ImageIO.read(getClass().getResource("Scenario.png"));
+        scenarioSound = SoundBank.acquire("Scenario.wav");
 
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(
-                    getClass().getResource("Scenario.wav"));
-            scenarioSound = AudioSystem.getClip();
-            scenarioSound.open(audioInputStream);
+        try {
+            iconImage = AssetPreloader.readImage("Scenario.png");
         } catch (Exception e) {
             e.printStackTrace();
             iconImage = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
@@ -60,68 +54,28 @@ public class ScenarioIcon extends JButton {
 
         addActionListener(e -> {
             playScenarioSound();
-            if (scenarioWindow == null || !scenarioWindow.isVisible()) {
-                openScenarioWindow();
-            }
+            openScenarioWindow();
         });
     }
 
     private void playScenarioSound() {
         if (scenarioSound != null) {
-            scenarioSound.setFramePosition(0);
-            scenarioSound.start();
+            scenarioSound.play();
         }
     }
 
     public void setScenario(ScenarioDataReader.Scenario scenario) {
-        this.currentScenario = scenario;
+        AuxiliaryWindows.setScenario(scenario);
     }
 
     public void openScenarioWindow() {
-        if (scenarioWindow != null) {
-            scenarioWindow.dispose();
-        }
-
-        scenarioWindow = new JFrame("Scenario");
-        scenarioWindow.setSize(450, 350);
-        scenarioWindow.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-
-        Point mainWindowLoc = getParent().getLocationOnScreen();
-        scenarioWindow.setLocation(mainWindowLoc.x - 450, mainWindowLoc.y);
-
-        JPanel contentPanel = new JPanel(new BorderLayout());
-        contentPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
-
-        JTextArea scenarioText = new JTextArea();
-        scenarioText.setEditable(false);
-        scenarioText.setLineWrap(true);
-        scenarioText.setWrapStyleWord(true);
-        scenarioText.setFont(new Font("Arial", Font.PLAIN, 18));
-        scenarioText.setMargin(new Insets(10, 10, 10, 10));
+        AuxiliaryWindows.showScenario(getParent(), this::stopScenarioSound);
+    }
 
-        if (currentScenario != null) {
-            scenarioText.setText(currentScenario.description);
-        } else {
-            scenarioText.setText("No scenario information available");
+    private void stopScenarioSound() {
+        if (scenarioSound != null && scenarioSound.isPlaying()) {
+            scenarioSound.stop();
         }
-
-        JScrollPane scrollPane = new JScrollPane(scenarioText);
-        scrollPane.setBorder(BorderFactory.createEmptyBorder());
-        contentPanel.add(scrollPane, BorderLayout.CENTER);
-
-        scenarioWindow.add(contentPanel);
-
-        scenarioWindow.addWindowListener(new WindowAdapter() {
-            @Override
-            public void windowClosed(WindowEvent e) {
-                scenarioWindow = null;
-                if (scenarioSound != null && scenarioSound.isRunning()) {
-                    scenarioSound.stop();
-                }
-            }
-        });
-
-        scenarioWindow.setVisible(true);
     }
 
     private void startHoverAnimation(boolean hoverIn) {
@@ -137,7 +91,7 @@ public class ScenarioIcon extends JButton {
                 growTimer.stop();
             }
         });
-        growTimer.start();
+        PerformanceOverlay.track(growTimer).start();
     }
 
     private void applyButtonScale() {
@@ -176,4 +130,8 @@ public class ScenarioIcon extends JButton {
         this.baseHeight = height;
         setBounds(originalX, originalY, width, height);
     }
+
+    public void stopSounds() {
+        SoundBank.stop(scenarioSound);
+    }
 }
\ No newline at end of file
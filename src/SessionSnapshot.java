@@ -0,0 +1,83 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Everything needed to pick a game back up between rounds. Questions are kept as their index in the
+// scenario and the imposter as an index into the suspects, so a snapshot is a few hundred bytes.
+public class SessionSnapshot {
+    static final int MAGIC = 0x42544C53; // "BTLS"
+    static final int VERSION = 1;
+
+    public final long seed;
+    public final String difficulty;
+    public final int requestedSuspects;
+    public final String scenarioId;
+    public final List<String> suspects;
+    public final int imposterIndex;
+    public final int round;
+    public final GameEngine.State state;
+    public final int[] askedQuestions;
+
+    SessionSnapshot(long seed, String difficulty, int requestedSuspects, String scenarioId, List<String> suspects,
+                    int imposterIndex, int round, GameEngine.State state, int[] askedQuestions) {
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.requestedSuspects = requestedSuspects;
+        this.scenarioId = scenarioId;
+        this.suspects = Collections.unmodifiableList(new ArrayList<>(suspects));
+        this.imposterIndex = imposterIndex;
+        this.round = round;
+        this.state = state;
+        this.askedQuestions = askedQuestions;
+    }
+
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        out.writeUTF(difficulty != null ? difficulty : "");
+        out.writeByte(requestedSuspects);
+        out.writeUTF(scenarioId);
+        out.writeByte(suspects.size());
+        for (String suspect : suspects) {
+            out.writeUTF(suspect);
+        }
+        out.writeByte(imposterIndex);
+        out.writeByte(round);
+        out.writeByte(state.ordinal());
+        out.writeByte(askedQuestions.length);
+        for (int question : askedQuestions) {
+            out.writeShort(question);
+        }
+    }
+
+    public static SessionSnapshot read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+            throw new IOException("Not a session snapshot");
+        }
+        long seed = in.readLong();
+        String difficulty = in.readUTF();
+        int requestedSuspects = in.readUnsignedByte();
+        String scenarioId = in.readUTF();
+        int suspectCount = in.readUnsignedByte();
+        List<String> suspects = new ArrayList<>(suspectCount);
+        for (int i = 0; i < suspectCount; i++) {
+            suspects.add(in.readUTF());
+        }
+        int imposterIndex = in.readUnsignedByte();
+        int round = in.readUnsignedByte();
+        int state = in.readUnsignedByte();
+        if (state >= GameEngine.State.values().length) {
+            throw new IOException("Unknown game state " + state);
+        }
+        int[] askedQuestions = new int[in.readUnsignedByte()];
+        for (int i = 0; i < askedQuestions.length; i++) {
+            askedQuestions[i] = in.readUnsignedShort();
+        }
+        return new SessionSnapshot(seed, difficulty.isEmpty() ? null : difficulty, requestedSuspects, scenarioId,
+                suspects, imposterIndex, round, GameEngine.State.values()[state], askedQuestions);
+    }
+}
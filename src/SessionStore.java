@@ -0,0 +1,125 @@
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Keeps the unfinished game on disk so a case survives the app being closed.
+// All file work happens on one background thread, if saves pile up only the newest is written.
+public class SessionStore {
+    private static final Path SAVE_DIR = Paths.get(System.getProperty("btl.save.dir", "saves"));
+    private static final SessionStore INSTANCE = new SessionStore(SAVE_DIR.resolve("session.btls"));
+
+    private final Path file;
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "SessionStore-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Object lock = new Object();
+    private SessionSnapshot queued;
+    private boolean writeScheduled = false;
+    private SessionSnapshot latest;
+    private boolean changedSinceLoad = false;
+    private CompletableFuture<SessionSnapshot> loaded;
+
+    SessionStore(Path file) {
+        this.file = file;
+        // Let a save that is in flight finish when the window is closed
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            io.shutdown();
+            try {
+                io.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+        }, "SessionStore-flush"));
+    }
+
+    public static SessionStore get() {
+        return INSTANCE;
+    }
+
+    // Reads the saved game once in the background, completes with null if there is none
+    public synchronized CompletableFuture<SessionSnapshot> load() {
+        if (loaded == null) {
+            loaded = CompletableFuture.supplyAsync(() -> {
+                SessionSnapshot saved = read();
+                synchronized (lock) {
+                    if (!changedSinceLoad) {
+                        latest = saved;
+                    }
+                    return latest;
+                }
+            }, io);
+        }
+        return loaded;
+    }
+
+    // The game that would be resumed right now, never touches the disk. Null until load has finished.
+    public SessionSnapshot getSaved() {
+        synchronized (lock) {
+            return latest;
+        }
+    }
+
+    public void save(SessionSnapshot snapshot) {
+        enqueue(snapshot);
+    }
+
+    public void clear() {
+        enqueue(null);
+    }
+
+    private void enqueue(SessionSnapshot snapshot) {
+        synchronized (lock) {
+            latest = snapshot;
+            changedSinceLoad = true;
+            queued = snapshot;
+            if (writeScheduled) {
+                return;
+            }
+            writeScheduled = true;
+        }
+        io.execute(this::writeQueued);
+    }
+
+    private void writeQueued() {
+        SessionSnapshot snapshot;
+        synchronized (lock) {
+            snapshot = queued;
+            queued = null;
+            writeScheduled = false;
+        }
+        try {
+            if (snapshot == null) {
+                Files.deleteIfExists(file);
+                return;
+            }
+            Files.createDirectories(file.getParent());
+            // Written next to the save and moved over it, so a crash mid-write leaves the previous save intact
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                snapshot.write(out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not save the game in progress: " + e.getMessage());
+        }
+    }
+
+    private SessionSnapshot read() {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return SessionSnapshot.read(in);
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable saved game: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+import javax.sound.sampled.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SoundBank {
+    // Decoding happens outside the lock so the preloader can decode several sounds at once
+    private static final Map<String, short[]> decodedSounds = new ConcurrentHashMap<>();
+    private static final Set<String> missingSounds = ConcurrentHashMap.newKeySet();
+    private static final Map<String, SoundEffect> effects = new HashMap<>();
+
+    private SoundBank() {
+    }
+
+    // Returns the shared voice pool for the sound on the effects bus, or null if it can't be loaded
+    public static synchronized SoundEffect acquire(String name) {
+        SoundEffect effect = effects.get(name);
+        if (effect == null) {
+            short[] samples = decode(name);
+            if (samples == null) {
+                return null;
+            }
+            effect = new SoundEffect(samples, AudioMixer.Bus.EFFECTS);
+            effects.put(name, effect);
+        }
+        return effect;
+    }
+
+    public static boolean preload(String name) {
+        return decode(name) != null;
+    }
+
+    // Stops every voice of the effect. The effect is shared by everyone who acquired the same name,
+    // so this also cuts off their copies of the sound.
+    public static void stop(SoundEffect effect) {
+        if (effect != null) {
+            effect.stop();
+        }
+    }
+
+    public static void stopAll(Collection<SoundEffect> effects) {
+        for (SoundEffect effect : effects) {
+            stop(effect);
+        }
+        effects.clear();
+    }
+
+    private static short[] decode(String name) {
+        short[] samples = decodedSounds.get(name);
+        if (samples != null || missingSounds.contains(name)) {
+            return samples;
+        }
+
+        URL url = AssetManifest.url(name);
+        if (url == null) {
+            missingSounds.add(name);
+            return null;
+        }
+
+        try {
+            samples = DecodedAssetCache.readSamples(url, SoundBank::decodeToMixerFormat);
+            decodedSounds.put(name, samples);
+            return samples;
+        } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException e) {
+            System.err.println("Failed to decode sound " + name + ": " + e.getMessage());
+            missingSounds.add(name);
+            return null;
+        }
+    }
+
+    private static short[] decodeToMixerFormat(InputStream in) throws IOException, UnsupportedAudioFileException {
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(in);
+             AudioInputStream stream = toMixerFormat(source)) {
+            return toSamples(stream.readAllBytes());
+        }
+    }
+
+    static AudioInputStream toMixerFormat(AudioInputStream source) {
+        if (source.getFormat().matches(AudioMixer.FORMAT)) {
+            return source;
+        }
+        return AudioSystem.getAudioInputStream(AudioMixer.FORMAT, source);
+    }
+
+    private static short[] toSamples(byte[] data) {
+        short[] samples = new short[data.length / 2];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (short) ((data[i * 2] & 0xFF) | (data[i * 2 + 1] << 8));
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,43 @@
+public class SoundEffect {
+    private static final int DEFAULT_VOICES = 4;
+
+    private final SampleVoice[] voices;
+    private int next = 0;
+
+    public SoundEffect(short[] samples, AudioMixer.Bus bus) {
+        this(samples, bus, DEFAULT_VOICES);
+    }
+
+    public SoundEffect(short[] samples, AudioMixer.Bus bus, int voiceCount) {
+        voices = new SampleVoice[voiceCount];
+        for (int i = 0; i < voiceCount; i++) {
+            voices[i] = new SampleVoice(samples, bus);
+        }
+        AudioMixer.get(); // open the output line before the first click
+    }
+
+    // Voices are started round-robin and all have the same length, so the next one in
+    // line is always the oldest: either already finished or the one to steal. A stolen voice is
+    // rewound by the mixer thread, so the trigger is never lost. Only triggers of one voice within
+    // a single mix block start together.
+    public synchronized void play() {
+        SampleVoice voice = voices[next];
+        next = (next + 1) % voices.length;
+        voice.play();
+    }
+
+    public boolean isPlaying() {
+        for (SampleVoice voice : voices) {
+            if (voice.isPlaying()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void stop() {
+        for (SampleVoice voice : voices) {
+            voice.stop();
+        }
+    }
+}
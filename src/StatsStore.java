@@ -0,0 +1,407 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+// Every finished game, appended to a log that is never rewritten. Totals, per scenario win rates and the
+// fastest solves are kept up to date in memory as results come in, so showing them never reads the log.
+// Each record is framed as length, payload, CRC32. A record torn by a crash fails its check and is cut off
+// on the next load, everything before it is kept.
+public class StatsStore {
+    private static final Path STATS_DIR = Paths.get(System.getProperty("btl.stats.dir", "stats"));
+    private static final StatsStore INSTANCE = new StatsStore(STATS_DIR.resolve("results.btlstats"));
+
+    static final int RECORD_VERSION = 1;
+    private static final int MAX_RECORD_BYTES = 4096;
+    private static final int FLUSH_DELAY_MS = 500;
+    static final int LEADERBOARD_SIZE = 10;
+
+    public static class Result {
+        public final long finishedAtMillis;
+        public final String scenarioId;
+        public final String difficulty;
+        public final int suspects;
+        public final long durationMillis;
+        public final boolean won;
+        // Resumed games only count the time since they were picked back up
+        public final boolean resumed;
+        public final long seed;
+
+        public Result(long finishedAtMillis, String scenarioId, String difficulty, int suspects,
+                      long durationMillis, boolean won, boolean resumed, long seed) {
+            this.finishedAtMillis = finishedAtMillis;
+            this.scenarioId = scenarioId;
+            this.difficulty = difficulty;
+            this.suspects = suspects;
+            this.durationMillis = durationMillis;
+            this.won = won;
+            this.resumed = resumed;
+            this.seed = seed;
+        }
+    }
+
+    public static class Tally {
+        public long games;
+        public long wins;
+        public long totalMillis;
+        public long fastestWinMillis = Long.MAX_VALUE;
+
+        void add(Result result) {
+            games++;
+            totalMillis += result.durationMillis;
+            if (result.won) {
+                wins++;
+                if (!result.resumed) {
+                    fastestWinMillis = Math.min(fastestWinMillis, result.durationMillis);
+                }
+            }
+        }
+
+        Tally copy() {
+            Tally copy = new Tally();
+            copy.games = games;
+            copy.wins = wins;
+            copy.totalMillis = totalMillis;
+            copy.fastestWinMillis = fastestWinMillis;
+            return copy;
+        }
+
+        public double winRate() {
+            return games == 0 ? 0 : (double) wins / games;
+        }
+
+        public boolean hasFastestWin() {
+            return fastestWinMillis != Long.MAX_VALUE;
+        }
+    }
+
+    private final Path file;
+    private final ScheduledExecutorService io = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "StatsStore-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object lock = new Object();
+    private final Tally overall = new Tally();
+    private final Map<String, Tally> byScenario = new HashMap<>();
+    private final Map<String, Tally> byDifficulty = new HashMap<>();
+    private final Map<String, List<Result>> fastestByDifficulty = new HashMap<>();
+    private List<Result> unwritten = new ArrayList<>();
+    private boolean flushScheduled = false;
+
+    private CompletableFuture<Void> loaded;
+    private boolean logRead = false;
+    private FileChannel log;
+
+    StatsStore(Path file) {
+        this.file = file;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                io.submit(this::flush).get(1, TimeUnit.SECONDS);
+            } catch (Exception ignored) {
+            }
+        }, "StatsStore-flush"));
+    }
+
+    public static StatsStore get() {
+        return INSTANCE;
+    }
+
+    // Reads the history in the background once, aggregates fill in as it goes
+    public synchronized CompletableFuture<Void> load() {
+        if (loaded == null) {
+            loaded = CompletableFuture.runAsync(this::readLog, io);
+        }
+        return loaded;
+    }
+
+    // Counted straight away, written with whatever else comes in over the next moment
+    public void record(Result result) {
+        synchronized (lock) {
+            add(result);
+            unwritten.add(result);
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        io.schedule(this::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Times every game from when it starts, or is resumed, to the accusation
+    public GameListener recorder(GameEngine engine) {
+        return new GameListener() {
+            private long startNanos;
+            private boolean resumed;
+
+            @Override
+            public void gameStarted(ScenarioDataReader.Scenario scenario, List<String> suspects, String imposter) {
+                startNanos = System.nanoTime();
+                resumed = false;
+            }
+
+            @Override
+            public void gameResumed(ScenarioDataReader.Scenario scenario, List<String> suspects, String imposter) {
+                startNanos = System.nanoTime();
+                resumed = true;
+            }
+
+            @Override
+            public void gameOver(boolean won, String accused, String imposter) {
+                record(new Result(System.currentTimeMillis(), engine.getScenario().id,
+                        engine.getDifficulty() != null ? engine.getDifficulty() : engine.getScenario().difficulty,
+                        engine.getSuspects().size(), (System.nanoTime() - startNanos) / 1_000_000L,
+                        won, resumed, engine.getSeed()));
+            }
+        };
+    }
+
+    public Tally getOverall() {
+        synchronized (lock) {
+            return overall.copy();
+        }
+    }
+
+    public Tally getScenario(String scenarioId) {
+        synchronized (lock) {
+            Tally tally = byScenario.get(scenarioId);
+            return tally != null ? tally.copy() : new Tally();
+        }
+    }
+
+    public Map<String, Tally> getScenarios() {
+        return copyOf(byScenario);
+    }
+
+    public Map<String, Tally> getDifficulties() {
+        return copyOf(byDifficulty);
+    }
+
+    // Fastest wins first
+    public List<Result> getLeaderboard(String difficulty) {
+        synchronized (lock) {
+            List<Result> fastest = fastestByDifficulty.get(key(difficulty));
+            return fastest != null ? new ArrayList<>(fastest) : new ArrayList<>();
+        }
+    }
+
+    private Map<String, Tally> copyOf(Map<String, Tally> tallies) {
+        synchronized (lock) {
+            Map<String, Tally> copy = new TreeMap<>();
+            for (Map.Entry<String, Tally> entry : tallies.entrySet()) {
+                copy.put(entry.getKey(), entry.getValue().copy());
+            }
+            return copy;
+        }
+    }
+
+    // Called with the lock held
+    private void add(Result result) {
+        overall.add(result);
+        byScenario.computeIfAbsent(result.scenarioId, id -> new Tally()).add(result);
+        byDifficulty.computeIfAbsent(key(result.difficulty), d -> new Tally()).add(result);
+        // A resumed game was only timed since the resume, so it isn't a solve time
+        if (result.won && !result.resumed) {
+            List<Result> fastest = fastestByDifficulty.computeIfAbsent(key(result.difficulty), d -> new ArrayList<>());
+            int at = 0;
+            while (at < fastest.size() && fastest.get(at).durationMillis <= result.durationMillis) {
+                at++;
+            }
+            if (at < LEADERBOARD_SIZE) {
+                fastest.add(at, result);
+                if (fastest.size() > LEADERBOARD_SIZE) {
+                    fastest.remove(LEADERBOARD_SIZE);
+                }
+            }
+        }
+    }
+
+    private static String key(String difficulty) {
+        return difficulty.toLowerCase(Locale.ROOT);
+    }
+
+    // Runs on the io thread, all results queued since the last flush go out in one write and one sync
+    private void flush() {
+        List<Result> batch;
+        synchronized (lock) {
+            batch = unwritten;
+            unwritten = new ArrayList<>();
+            flushScheduled = false;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            if (!logRead) {
+                readLog();
+            }
+            if (log == null) {
+                Files.createDirectories(file.getParent());
+                log = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(batch.size() * 96);
+            DataOutputStream out = new DataOutputStream(bytes);
+            CRC32 crc = new CRC32();
+            for (Result result : batch) {
+                byte[] payload = encode(result);
+                crc.reset();
+                crc.update(payload);
+                out.writeInt(payload.length);
+                out.write(payload);
+                out.writeInt((int) crc.getValue());
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                log.write(buffer);
+            }
+            log.force(false);
+        } catch (IOException e) {
+            System.err.println("Could not save " + batch.size() + " game results: " + e.getMessage());
+        }
+    }
+
+    private static byte[] encode(Result result) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(RECORD_VERSION);
+        out.writeLong(result.finishedAtMillis);
+        out.writeUTF(result.scenarioId);
+        out.writeUTF(result.difficulty);
+        out.writeByte(result.suspects);
+        out.writeLong(result.durationMillis);
+        out.writeByte((result.won ? 1 : 0) | (result.resumed ? 2 : 0));
+        out.writeLong(result.seed);
+        return bytes.toByteArray();
+    }
+
+    private static Result decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        if (in.readUnsignedByte() != RECORD_VERSION) {
+            throw new IOException("Unknown stats record version");
+        }
+        long finishedAt = in.readLong();
+        String scenarioId = in.readUTF();
+        String difficulty = in.readUTF();
+        int suspects = in.readUnsignedByte();
+        long duration = in.readLong();
+        int flags = in.readUnsignedByte();
+        long seed = in.readLong();
+        return new Result(finishedAt, scenarioId, difficulty, suspects, duration,
+                (flags & 1) != 0, (flags & 2) != 0, seed);
+    }
+
+    // Runs on the io thread, before anything is appended
+    private void readLog() {
+        if (logRead) {
+            return;
+        }
+        logRead = true;
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        long validLength = 0;
+        int records = 0;
+        int skipped = 0;
+        // Only a record cut short or failing its CRC is a torn tail. One this build can't decode, say from
+        // a newer version, is intact: it is skipped but stays in the log.
+        boolean torn = false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    torn = Files.size(file) > validLength;
+                    break;
+                }
+                if (length <= 0 || length > MAX_RECORD_BYTES) {
+                    torn = true;
+                    break;
+                }
+                byte[] payload = new byte[length];
+                int expected;
+                try {
+                    in.readFully(payload);
+                    expected = in.readInt();
+                } catch (EOFException e) {
+                    torn = true;
+                    break;
+                }
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != expected) {
+                    torn = true;
+                    break;
+                }
+                validLength += 4 + length + 4;
+                Result result;
+                try {
+                    result = decode(payload);
+                } catch (IOException e) {
+                    skipped++;
+                    continue;
+                }
+                synchronized (lock) {
+                    add(result);
+                }
+                records++;
+            }
+        } catch (IOException e) {
+            System.err.println("Stats log unreadable after " + records + " games: " + e.getMessage());
+        }
+        if (skipped > 0) {
+            System.err.println("Skipped " + skipped + " stats records this version can't read");
+        }
+
+        if (!torn) {
+            return;
+        }
+        try {
+            System.err.println("Cutting a damaged tail off the stats log after " + records + " games");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not repair the stats log: " + e.getMessage());
+        }
+    }
+
+    static String formatDuration(long millis) {
+        long seconds = millis / 1000;
+        return seconds / 60 + ":" + String.format(Locale.ROOT, "%02d", seconds % 60);
+    }
+
+    // Usage: StatsStore, prints what the game has recorded
+    public static void main(String[] args) throws Exception {
+        StatsStore store = get();
+        store.load().get();
+        Tally overall = store.getOverall();
+        System.out.printf(Locale.ROOT, "%d games, %d won (%.0f%%)%n", overall.games, overall.wins, overall.winRate() * 100);
+
+        System.out.println("\nscenario\tgames\twins\twin_rate\tfastest");
+        for (Map.Entry<String, Tally> entry : store.getScenarios().entrySet()) {
+            Tally tally = entry.getValue();
+            System.out.printf(Locale.ROOT, "%s\t%d\t%d\t%.3f\t%s%n", entry.getKey(), tally.games, tally.wins,
+                    tally.winRate(), tally.hasFastestWin() ? formatDuration(tally.fastestWinMillis) : "-");
+        }
+        for (String difficulty : store.getDifficulties().keySet()) {
+            System.out.println("\nFastest solves, " + difficulty);
+            int place = 1;
+            for (Result result : store.getLeaderboard(difficulty)) {
+                System.out.println(place++ + ". " + formatDuration(result.durationMillis) + "  " + result.scenarioId
+                        + ", " + result.suspects + " suspects");
+            }
+        }
+    }
+}
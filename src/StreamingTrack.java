@@ -0,0 +1,176 @@
+import javax.sound.sampled.*;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class StreamingTrack {
+    private static final int RING_BUFFER_SIZE = 64 * 1024; // ~0.37 s of 44.1 kHz 16-bit stereo
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    private static final ExecutorService decoderThreads = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "Audio Stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String name;
+    private final URL url;
+    private final AudioMixer.Bus bus;
+    private Playback playback;
+    private boolean paused = false;
+
+    // One play() call, the decoder fills the ring buffer and the mixer drains it without blocking
+    private class Playback extends AudioMixer.Voice {
+        final boolean loop;
+        final AudioRingBuffer ring = new AudioRingBuffer(RING_BUFFER_SIZE);
+        volatile boolean stopped = false;
+        private byte[] pending = new byte[0];
+
+        Playback(boolean loop) {
+            super(bus);
+            this.loop = loop;
+        }
+
+        void decode() {
+            byte[] chunk = new byte[CHUNK_SIZE];
+            try {
+                do {
+                    try (AudioInputStream source = AudioSystem.getAudioInputStream(url);
+                         AudioInputStream stream = SoundBank.toMixerFormat(source)) {
+                        int read;
+                        while (!stopped && (read = stream.read(chunk)) != -1) {
+                            if (!ring.write(chunk, 0, read)) {
+                                return;
+                            }
+                        }
+                    }
+                } while (loop && !stopped);
+            } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException e) {
+                System.err.println("Failed to stream " + name + ": " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                ring.finish();
+            }
+        }
+
+        @Override
+        protected int render(short[] buffer, int frames) {
+            int bytes = frames * AudioMixer.FORMAT.getFrameSize();
+            if (pending.length < bytes) {
+                pending = new byte[bytes];
+            }
+            int filled = 0;
+            while (filled < bytes) {
+                int read = ring.poll(pending, filled, bytes - filled);
+                if (read == -1) {
+                    break;
+                }
+                if (read == 0) {
+                    // Underrun, pad with silence and keep the voice alive
+                    Arrays.fill(pending, filled, bytes, (byte) 0);
+                    filled = bytes;
+                    break;
+                }
+                filled += read;
+            }
+            for (int i = 0; i < filled / 2; i++) {
+                buffer[i] = (short) ((pending[i * 2] & 0xFF) | (pending[i * 2 + 1] << 8));
+            }
+            return filled / AudioMixer.FORMAT.getFrameSize();
+        }
+
+        @Override
+        protected void onFinished() {
+            stopped = true;
+            ring.close();
+        }
+
+        @Override
+        public void stop() {
+            super.stop();
+            onFinished();
+        }
+
+        // Out of the mix but still decoded, the decoder waits on the full ring buffer
+        void pause() {
+            super.stop();
+        }
+    }
+
+    public StreamingTrack(String name, AudioMixer.Bus bus) {
+        this.name = name;
+        this.bus = bus;
+        this.url = AssetManifest.url(name);
+    }
+
+    public void play(boolean loop) {
+        play(loop, 0);
+    }
+
+    public synchronized void play(boolean loop, int fadeInMillis) {
+        stop();
+        if (url == null) {
+            return;
+        }
+        Playback current = new Playback(loop);
+        if (fadeInMillis > 0) {
+            current.setGain(0);
+            current.fadeTo(1.0f, fadeInMillis);
+        }
+        playback = current;
+        decoderThreads.execute(current::decode);
+        current.start();
+    }
+
+    public synchronized void stop() {
+        paused = false;
+        if (playback != null) {
+            playback.stop();
+            playback = null;
+        }
+    }
+
+    // Takes the track out of the mix and keeps its place, resume carries on from there
+    public synchronized void pause() {
+        if (playback != null && !paused) {
+            playback.pause();
+            paused = true;
+        }
+    }
+
+    // Carries on where pause left off, starts from the top if nothing is paused or playing
+    public synchronized void resume(boolean loop, int fadeInMillis) {
+        if (playback == null || (!paused && !playback.isPlaying())) {
+            play(loop, fadeInMillis);
+            return;
+        }
+        if (paused) {
+            paused = false;
+            if (fadeInMillis > 0) {
+                playback.setGain(0);
+                playback.fadeTo(1.0f, fadeInMillis);
+            }
+            playback.start();
+        }
+    }
+
+    public synchronized void fadeOut(int millis) {
+        paused = false;
+        if (playback != null) {
+            playback.fadeOut(millis);
+            playback = null;
+        }
+    }
+
+    public void crossfadeTo(StreamingTrack next, boolean loop, int millis) {
+        fadeOut(millis);
+        next.play(loop, millis);
+    }
+
+    public synchronized boolean isPlaying() {
+        return playback != null && playback.isPlaying();
+    }
+}
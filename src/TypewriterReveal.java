@@ -0,0 +1,59 @@
+// Reveals an immutable text at a fixed rate. Only an index moves, so a frame can draw the visible prefix
+// straight from getText() without building strings. The position is derived from elapsed time,
+// so a late frame catches up instead of slowing the text down.
+public class TypewriterReveal {
+    private final char[] text;
+    private double charsPerSecond;
+    private long startNanos;
+    private int revealed = 0;
+
+    public TypewriterReveal(String text, double charsPerSecond, long nowNanos) {
+        this.text = text.toCharArray();
+        this.charsPerSecond = charsPerSecond;
+        this.startNanos = nowNanos;
+    }
+
+    // Returns how many characters became visible since the last call
+    public int advance(long nowNanos) {
+        if (isComplete()) {
+            return 0;
+        }
+        long due = (long) ((nowNanos - startNanos) * charsPerSecond / 1_000_000_000.0);
+        int target = (int) Math.min(text.length, Math.max(0, due));
+        int newlyRevealed = target - revealed;
+        if (newlyRevealed <= 0) {
+            return 0;
+        }
+        revealed = target;
+        return newlyRevealed;
+    }
+
+    public void complete() {
+        revealed = text.length;
+    }
+
+    // Keeps what is already shown and continues from there at the new rate.
+    // A reveal scheduled to start later keeps its start time.
+    public void setCharsPerSecond(double charsPerSecond, long nowNanos) {
+        this.charsPerSecond = charsPerSecond;
+        if (nowNanos > startNanos) {
+            this.startNanos = nowNanos - (long) (revealed / charsPerSecond * 1_000_000_000.0);
+        }
+    }
+
+    public boolean isComplete() {
+        return revealed >= text.length;
+    }
+
+    public int getRevealed() {
+        return revealed;
+    }
+
+    public char[] getText() {
+        return text;
+    }
+
+    public int length() {
+        return text.length;
+    }
+}